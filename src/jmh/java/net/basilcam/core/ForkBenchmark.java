@@ -0,0 +1,54 @@
+package net.basilcam.core;
+
+import net.basilcam.core.tiles.TileManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// what a fork costs next to playing and taking back a single move, at a few board sizes
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ForkBenchmark {
+    @Param({"0", "30", "60"})
+    public int playedTileCount;
+
+    private CompactGame game;
+    private Move move;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(this.playedTileCount);
+        TileManager tileManager = new TileManager(this.playedTileCount);
+        this.game = CompactGame.of(tileManager, 2);
+
+        for (int played = 0; played < this.playedTileCount; played++) {
+            List<Move> moves = this.game.generateLegalMoves();
+            if (moves.isEmpty()) {
+                break;
+            }
+            this.game.apply(moves.get(random.nextInt(moves.size())));
+        }
+        this.game = this.game.fork();
+        List<Move> moves = this.game.generateLegalMoves();
+        this.move = moves.get(random.nextInt(moves.size()));
+    }
+
+    @Benchmark
+    public CompactGame fork() {
+        return this.game.fork();
+    }
+
+    @Benchmark
+    public int applyAndUndo() {
+        this.game.apply(this.move);
+        int score = this.game.getScore(0);
+        this.game.undo();
+        return score;
+    }
+}
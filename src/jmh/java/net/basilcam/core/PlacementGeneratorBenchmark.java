@@ -0,0 +1,90 @@
+package net.basilcam.core;
+
+import net.basilcam.core.tiles.Tile;
+import net.basilcam.core.tiles.TileManager;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlacementGeneratorBenchmark {
+    private static final int PROBE_TILE_COUNT = 8;
+
+    @Param({"10", "40", "64"})
+    public int placedTileCount;
+
+    private Board board;
+    private List<Tile> probeTiles;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(placedTileCount);
+        TileManager tileManager = new TileManager(this.placedTileCount);
+        this.board = new Board(tileManager.getStartTile());
+
+        int placed = 0;
+        while (placed < this.placedTileCount && tileManager.hasMoreTiles()) {
+            Tile tile = tileManager.drawTile();
+            List<Placement> placements = PlacementGenerator.generateLegalPlacements(this.board, tile);
+            if (placements.isEmpty()) {
+                continue;
+            }
+            Placement placement = placements.get(random.nextInt(placements.size()));
+            tile.rotateTo(placement.getClockWiseRotationCount());
+            this.board.placeTile(tile, placement.getXPosition(), placement.getYPosition());
+            placed++;
+        }
+
+        this.probeTiles = new ArrayList<>();
+        while (this.probeTiles.size() < PROBE_TILE_COUNT && tileManager.hasMoreTiles()) {
+            this.probeTiles.add(tileManager.drawTile());
+        }
+    }
+
+    @Benchmark
+    public void generateLegalPlacements(Blackhole blackhole) {
+        for (Tile tile : this.probeTiles) {
+            blackhole.consume(PlacementGenerator.generateLegalPlacements(this.board, tile));
+        }
+    }
+
+    @Benchmark
+    public void forEachLegalPlacement(Blackhole blackhole) {
+        for (Tile tile : this.probeTiles) {
+            PlacementGenerator.forEachLegalPlacement(this.board, tile, (xPosition, yPosition, rotation) ->
+                    blackhole.consume(xPosition + yPosition + rotation));
+        }
+    }
+
+    // the pre-frontier approach: validate every rotation of every cell in the bounding box
+    @Benchmark
+    public void scanBoundingBox(Blackhole blackhole) {
+        int[] bounds = {0, 0, 0, 0};
+        this.board.forEachTile((tile, xPosition, yPosition) -> {
+            bounds[0] = Math.min(bounds[0], xPosition);
+            bounds[1] = Math.max(bounds[1], xPosition);
+            bounds[2] = Math.min(bounds[2], yPosition);
+            bounds[3] = Math.max(bounds[3], yPosition);
+        });
+
+        for (Tile tile : this.probeTiles) {
+            for (int rotation = 0; rotation < PlacementGenerator.ROTATION_COUNT; rotation++) {
+                for (int x = bounds[0] - 1; x <= bounds[1] + 1; x++) {
+                    for (int y = bounds[2] - 1; y <= bounds[3] + 1; y++) {
+                        blackhole.consume(PlacementValidator.isValid(this.board, x, y, tile));
+                    }
+                }
+                tile.rotateClockwise();
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package net.basilcam.core;
+
+import net.basilcam.core.tiles.Tile;
+import net.basilcam.core.tiles.TileManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlacementValidatorBenchmark {
+    private static final int PLACED_TILE_COUNT = 40;
+
+    private Board board;
+    private Tile probeTile;
+    private List<FrontierSlot> slots;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(PLACED_TILE_COUNT);
+        TileManager tileManager = new TileManager(PLACED_TILE_COUNT);
+        this.board = new Board(tileManager.getStartTile());
+
+        for (int placed = 0; placed < PLACED_TILE_COUNT && tileManager.hasMoreTiles(); ) {
+            Tile tile = tileManager.drawTile();
+            List<Placement> placements = PlacementGenerator.generateLegalPlacements(this.board, tile);
+            if (!placements.isEmpty()) {
+                Placement placement = placements.get(random.nextInt(placements.size()));
+                tile.rotateTo(placement.getClockWiseRotationCount());
+                this.board.placeTile(tile, placement.getXPosition(), placement.getYPosition());
+                placed++;
+            }
+        }
+
+        this.probeTile = tileManager.drawTile();
+        this.slots = new ArrayList<>(this.board.getFrontierSlots());
+    }
+
+    @Benchmark
+    public int placementValidator() {
+        int validCount = 0;
+        for (FrontierSlot slot : this.slots) {
+            if (PlacementValidator.isValid(this.board, slot.getXPosition(), slot.getYPosition(), this.probeTile)) {
+                validCount++;
+            }
+        }
+        return validCount;
+    }
+
+    @Benchmark
+    public int signaturePlacementValidator() {
+        int validCount = 0;
+        for (FrontierSlot slot : this.slots) {
+            if (SignaturePlacementValidator.isValid(this.board, slot.getXPosition(), slot.getYPosition(), this.probeTile)) {
+                validCount++;
+            }
+        }
+        return validCount;
+    }
+}
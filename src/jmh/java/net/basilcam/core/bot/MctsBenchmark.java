@@ -0,0 +1,53 @@
+package net.basilcam.core.bot;
+
+import net.basilcam.core.CompactGame;
+import net.basilcam.core.Move;
+import net.basilcam.core.tiles.TileManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// rollouts per second on one thread. run with -t set to the core count to see how it scales, e.g.
+// ./gradlew jmh -PjmhArgs='MctsBenchmark -f 1 -t 4'
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MctsBenchmark {
+    @Param({"0", "30", "60"})
+    public int playedTileCount;
+
+    private CompactGame game;
+    private Random random;
+    private MctsAgent.Rollout rollout;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.random = new Random(this.playedTileCount);
+        TileManager tileManager = new TileManager(this.playedTileCount);
+        this.game = CompactGame.of(tileManager, 2);
+
+        for (int played = 0; played < this.playedTileCount; played++) {
+            List<Move> moves = this.game.generateLegalMoves();
+            if (moves.isEmpty()) {
+                break;
+            }
+            this.game.apply(moves.get(this.random.nextInt(moves.size())));
+        }
+        this.game = this.game.fork();
+        this.rollout = new MctsAgent.Rollout(this.random);
+    }
+
+    // one iteration of the search minus the tree: a shuffled copy of the game played out at random
+    @Benchmark
+    public int rollout() {
+        CompactGame determinization = this.game.fork();
+        determinization.shuffleRemainingTiles(this.random);
+        this.rollout.play(determinization);
+        return determinization.getScore(0);
+    }
+}
@@ -1,14 +1,25 @@
 package net.basilcam.core;
 
-import com.google.common.collect.HashBasedTable;
 import com.google.common.collect.ImmutableTable;
-import com.google.common.collect.Table;
 import net.basilcam.core.tiles.Tile;
+import net.basilcam.core.tiles.TileCatalog;
+import net.basilcam.core.tiles.TileSection;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public class Board {
-    private final Table<Integer, Integer, Tile> tiles;
+    private final PositionMap<Tile> tiles;
+    private final Map<Tile, Long> tilePositions;
+    private final PositionMap<FrontierSlot> frontier;
+    private final ZobristHash hash;
+    private final TileCatalog catalog;
+    private long remainingIds;
+    private int deadSlotCount;
 
     // up is +y
     // down is -y
@@ -16,43 +27,190 @@ public class Board {
     // right is +x
 
     public Board(Tile startTile) {
-        this.tiles = HashBasedTable.create();
-        this.tiles.put(0, 0, startTile);
+        this(startTile, TileCatalog.getInstance());
+    }
+
+    // the catalog the tiles come from, which decides what fits a frontier slot
+    public Board(Tile startTile, TileCatalog catalog) {
+        this.catalog = catalog;
+        this.tiles = new PositionMap<>();
+        this.tilePositions = new IdentityHashMap<>();
+        this.frontier = new PositionMap<>();
+        this.hash = new ZobristHash();
+        // every tile is taken to be remaining until a deck reports to the board, see updateRemainingIds
+        this.remainingIds = ~0L;
+        this.deadSlotCount = 0;
+        placeTile(startTile, 0, 0);
     }
 
     public Optional<Tile> getTile(int xPosition, int yPosition) {
-        return Optional.ofNullable(tiles.get(xPosition, yPosition));
+        return Optional.ofNullable(getTileOrNull(xPosition, yPosition));
+    }
+
+    // allocation free alternative to getTile for hot paths
+    public @Nullable Tile getTileOrNull(int xPosition, int yPosition) {
+        return this.tiles.get(Position.pack(xPosition, yPosition));
+    }
+
+    public @Nullable Tile getTileOrNull(long position) {
+        return this.tiles.get(position);
+    }
+
+    public boolean hasTile(int xPosition, int yPosition) {
+        return this.tiles.containsKey(Position.pack(xPosition, yPosition));
     }
 
     public Optional<Tile> getAbuttingTile(int xPosition, int yPosition, Direction direction) {
+        return Optional.ofNullable(getAbuttingTileOrNull(xPosition, yPosition, direction));
+    }
+
+    public @Nullable Tile getAbuttingTileOrNull(int xPosition, int yPosition, Direction direction) {
         switch (direction) {
             case UP:
-                return getTile(xPosition, yPosition + 1);
+                return getTileOrNull(xPosition, yPosition + 1);
             case LEFT:
-                return getTile(xPosition - 1, yPosition);
+                return getTileOrNull(xPosition - 1, yPosition);
             case DOWN:
-                return getTile(xPosition, yPosition - 1);
+                return getTileOrNull(xPosition, yPosition - 1);
             case RIGHT:
-                return getTile(xPosition + 1, yPosition);
+                return getTileOrNull(xPosition + 1, yPosition);
             default:
-                return Optional.empty();
+                return null;
         }
     }
 
     public void placeTile(Tile tile, int xPosition, int yPosition) {
-        this.tiles.put(xPosition, yPosition, tile);
+        long position = Position.pack(xPosition, yPosition);
+        this.tiles.put(position, tile);
+        this.tilePositions.put(tile, position);
+        this.hash.toggle(ZobristHash.tileKey(position, tile.getId(), tile.getClockWiseRotationCount()));
+        updateFrontier(tile, position);
+    }
+
+    // meeples go on and come off through the board so only this board's hash follows them, a tile can sit on
+    // more than one board (snapshots, replays)
+    public void placeMeeple(TileSection section, Meeple meeple) {
+        long meepleKey = getMeepleKey(section, meeple);
+        section.placeMeeple(meeple);
+        this.hash.toggle(meepleKey);
+    }
+
+    public void removeMeeple(TileSection section) {
+        assert section.getMeeple().isPresent();
+        long meepleKey = getMeepleKey(section, section.getMeeple().get());
+        section.removeMeeple();
+        this.hash.toggle(meepleKey);
+    }
+
+    // covers the placed tiles and the meeples on them
+    public long getHash() {
+        return this.hash.get();
+    }
+
+    public @Nullable FrontierSlot getFrontierSlot(int xPosition, int yPosition) {
+        return this.frontier.get(Position.pack(xPosition, yPosition));
+    }
+
+    public @Nullable FrontierSlot getFrontierSlot(long position) {
+        return this.frontier.get(position);
+    }
+
+    public int getFrontierSize() {
+        return this.frontier.size();
+    }
+
+    public void forEachFrontierSlot(FrontierSlotConsumer consumer) {
+        this.frontier.forEach((position, slot) -> consumer.accept(slot));
+    }
+
+    public List<FrontierSlot> getFrontierSlots() {
+        List<FrontierSlot> slots = new ArrayList<>(this.frontier.size());
+        forEachFrontierSlot(slots::add);
+        return slots;
+    }
+
+    // frontier slots that no remaining tile fits
+    public int getDeadSlotCount() {
+        return this.deadSlotCount;
+    }
+
+    public long getRemainingIds() {
+        return this.remainingIds;
+    }
+
+    // registered with TileManager.addDeckListener, which calls it whenever a tile id runs out. only those ids touch
+    // the frontier, which happens at most once per tile id in a game
+    public void updateRemainingIds(long remainingIds) {
+        assert (remainingIds & ~this.remainingIds) == 0 : "tiles cannot return to the deck";
+
+        long usedUpIds = this.remainingIds & ~remainingIds;
+        this.remainingIds = remainingIds;
+        if (usedUpIds == 0) {
+            return;
+        }
+        this.frontier.forEach((position, slot) -> {
+            if (!slot.isDead() && (slot.getFittingIds() & usedUpIds) != 0) {
+                slot.removeFittingIds(usedUpIds);
+                if (slot.isDead()) {
+                    this.deadSlotCount++;
+                }
+            }
+        });
+    }
+
+    public int getTileCount() {
+        return this.tiles.size();
     }
 
     public ImmutableTable<Integer, Integer, Tile> getTiles() {
-        return ImmutableTable.copyOf(tiles);
+        ImmutableTable.Builder<Integer, Integer, Tile> builder = ImmutableTable.builder();
+        forEachTile((tile, xPosition, yPosition) -> builder.put(xPosition, yPosition, tile));
+        return builder.build();
     }
 
     public void forEachTile(TileConsumer consumer) {
-        for (Table.Cell<Integer, Integer, Tile> cell : this.tiles.cellSet()) {
-            consumer.accept(cell.getValue(), cell.getRowKey(), cell.getColumnKey());
+        this.tiles.forEach((position, tile) -> consumer.accept(tile, Position.getX(position), Position.getY(position)));
+    }
+
+    private void updateFrontier(Tile tile, long position) {
+        @Nullable FrontierSlot placedSlot = this.frontier.remove(position);
+        if (placedSlot != null && placedSlot.isDead()) {
+            this.deadSlotCount--;
+        }
+
+        for (Direction direction : Direction.values()) {
+            long abuttingPosition = Position.getAbutting(position, direction);
+            if (this.tiles.containsKey(abuttingPosition)) {
+                continue;
+            }
+
+            FrontierSlot slot = this.frontier.get(abuttingPosition);
+            if (slot == null) {
+                slot = new FrontierSlot(abuttingPosition);
+                this.frontier.put(abuttingPosition, slot);
+            } else if (slot.isDead()) {
+                this.deadSlotCount--;
+            }
+            slot.constrain(direction.oppositeDirection(), tile.getEdgeType(direction));
+            slot.setFittingIds(this.catalog.getFittingIds(slot.getRequiredValue()) & this.remainingIds);
+            if (slot.isDead()) {
+                this.deadSlotCount++;
+            }
         }
     }
 
+    private long getMeepleKey(TileSection section, Meeple meeple) {
+        @Nullable Long position = this.tilePositions.get(section.getTile());
+        if (position == null) {
+            throw new IllegalArgumentException("tile is not on this board");
+        }
+        return ZobristHash.meepleKey(position, section.getIndex(), meeple.getOwner());
+    }
+
+    public interface FrontierSlotConsumer {
+        void accept(FrontierSlot slot);
+    }
+
     public interface TileConsumer {
         void accept(Tile tile, int xPosition, int yPosition);
     }
@@ -0,0 +1,1114 @@
+package net.basilcam.core;
+
+import net.basilcam.core.api.CarcassonneApi;
+import net.basilcam.core.features.GraphFeature;
+import net.basilcam.core.features.MonasteryFeature;
+import net.basilcam.core.tiles.EdgeSignature;
+import net.basilcam.core.tiles.Tile;
+import net.basilcam.core.tiles.TileDefinition;
+import net.basilcam.core.tiles.TileManager;
+import net.basilcam.core.tiles.TileSection;
+import net.basilcam.core.tiles.TileSectionType;
+import net.basilcam.gui.PlayerColor;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+// the rules of CarcassonneApi over parallel primitive arrays, for running many games without an object graph per game.
+// placed tiles are numbered in placement order (cells), and each cell owns SECTIONS_PER_CELL consecutive sections:
+// its four edges by the direction they face on the board, then its center sections in definition order.
+// city and road sections are joined into features with a union-find over section indices.
+// while moves are applied, every write to state that existed before the move is recorded on a trail so undo() can
+// put it back; state created by the move (its cell and sections) is simply forgotten
+public class CompactGame {
+    public static final int EDGE_SECTION_COUNT = 4;
+    public static final int MAX_CENTER_SECTIONS = 2;
+    public static final int SECTIONS_PER_CELL = EDGE_SECTION_COUNT + MAX_CENTER_SECTIONS;
+
+    private static final byte NO_SECTION = -1;
+    private static final byte CITY = (byte) TileSectionType.CITY.ordinal();
+    private static final byte ROAD = (byte) TileSectionType.ROAD.ordinal();
+    private static final byte MONASTERY = (byte) TileSectionType.MONASTERY.ordinal();
+    private static final byte NO_MEEPLE = -1;
+    private static final int NOT_A_MONASTERY = -1;
+    private static final int EMPTY = Integer.MIN_VALUE;
+    private static final TileSectionType[] SECTION_TYPES = TileSectionType.values();
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    // the trailed int arrays, by the index they are recorded under
+    private static final int POSITION_VALUES = 0;
+    private static final int FRONTIER_MASKS = 1;
+    private static final int FRONTIER_VALUES = 2;
+    private static final int CELL_MONASTERY_NEIGHBOURS = 3;
+    private static final int FEATURE_PARENTS = 4;
+    private static final int FEATURE_SIZES = 5;
+    private static final int FEATURE_NEXT_SECTIONS = 6;
+    private static final int FEATURE_LAST_SECTIONS = 7;
+    private static final int FEATURE_OPEN_EDGES = 8;
+    private static final int FEATURE_MEEPLE_TOTALS = 9;
+    private static final int FEATURE_MEEPLE_COUNTS = 10;
+    private static final int SCORES = 11;
+    private static final int MEEPLES_LEFT = 12;
+    private static final int FRONTIER_POSITIONS = 13;
+    private static final int SECTION_MEEPLES = 14;
+
+    // what a move saves of the scalar state, see pushMove
+    private static final int MOVE_TRAIL_SIZE = 0;
+    private static final int MOVE_FRONTIER_SIZE = 1;
+    private static final int MOVE_CELL_COUNT = 2;
+    private static final int MOVE_CURRENT_PLAYER = 3;
+    private static final int MOVE_DECK_POSITION = 4;
+    private static final int MOVE_CURRENT_DEFINITION = 5;
+    private static final int MOVE_RECORD_SIZE = 6;
+    private static final int INITIAL_TRAIL_CAPACITY = 64;
+
+    // tile definitions, indexed by the order they first appear in the deck
+    private final TileDefinition[] definitions;
+    private final int[] definitionSignatures;
+    private final int[] definitionDistinctRotations;
+    private final byte[] definitionCenterTypes;
+    private final boolean[] definitionCoatsOfArms;
+    private final int[] deck;
+
+    // board positions, both placed tiles (value is the cell) and frontier slots (value is -1 - slot index)
+    private final long[] positionKeys;
+    private final int[] positionValues;
+    private final int positionMask;
+
+    private final long[] frontierPositions;
+    private final int[] frontierMasks;
+    private final int[] frontierValues;
+    private int frontierSize;
+
+    private final long[] cellPositions;
+    private final int[] cellDefinitions;
+    private final byte[] cellRotations;
+    private final int[] cellMonasteryNeighbours;
+    private final int[] cellStamps;
+    private int cellCount;
+    private int stamp;
+
+    private final byte[] sectionTypes;
+    private final byte[] sectionMeeples;
+    private final int[] featureParents;
+    private final int[] featureSizes;
+    private final int[] featureNextSections;
+    private final int[] featureLastSections;
+    private final int[] featureOpenEdges;
+    private final int[] featureMeepleTotals;
+    private final int[] featureMeepleCounts;
+
+    private final int[] completedFeatures;
+    private int completedFeatureCount;
+    private final int[] completedMonasteries;
+    private int completedMonasteryCount;
+
+    // scratch space for forEachLegalMove, which runs at every search node
+    private final int[] meepleSections;
+    private final int[] meepleFeatures;
+
+    private final int playerCount;
+    private final int[] scores;
+    private final int[] meeplesLeft;
+    private int currentPlayer;
+    private int deckPosition;
+    private int currentDefinition;
+    private boolean hasPlacedTile;
+    private boolean hasPlacedMeeple;
+    private boolean hasScored;
+    private boolean isEnded;
+
+    private final int[][] trailedArrays;
+    private int[] trailFields;
+    private int[] trailIndices;
+    private long[] trailValues;
+    private int trailSize;
+    private final int[] moves;
+    private int moveCount;
+
+    public CompactGame(TileDefinition startTile, List<TileDefinition> deck, int playerCount) {
+        assert playerCount >= CarcassonneApi.MIN_PLAYERS && playerCount <= CarcassonneApi.MAX_PLAYERS
+                : "invalid player count";
+
+        Map<TileDefinition, Integer> definitionIndices = new IdentityHashMap<>();
+        definitionIndices.put(startTile, 0);
+        this.deck = new int[deck.size()];
+        for (int index = 0; index < deck.size(); index++) {
+            TileDefinition definition = deck.get(index);
+            Integer definitionIndex = definitionIndices.get(definition);
+            if (definitionIndex == null) {
+                definitionIndex = definitionIndices.size();
+                definitionIndices.put(definition, definitionIndex);
+            }
+            this.deck[index] = definitionIndex;
+        }
+
+        int definitionCount = definitionIndices.size();
+        this.definitions = new TileDefinition[definitionCount];
+        this.definitionSignatures = new int[definitionCount];
+        this.definitionDistinctRotations = new int[definitionCount];
+        this.definitionCenterTypes = new byte[definitionCount * MAX_CENTER_SECTIONS];
+        this.definitionCoatsOfArms = new boolean[definitionCount];
+        Arrays.fill(this.definitionCenterTypes, NO_SECTION);
+        definitionIndices.forEach((definition, index) -> {
+            assert definition.getCenterTypes().size() <= MAX_CENTER_SECTIONS : "too many center sections";
+
+            this.definitions[index] = definition;
+            this.definitionSignatures[index] = definition.getEdgeSignature(0);
+            this.definitionDistinctRotations[index] = EdgeSignature.getDistinctRotations(this.definitionSignatures[index]);
+            this.definitionCoatsOfArms[index] = definition.hasCoatOfArms();
+            for (int center = 0; center < definition.getCenterTypes().size(); center++) {
+                this.definitionCenterTypes[index * MAX_CENTER_SECTIONS + center] =
+                        (byte) definition.getCenterTypes().get(center).ordinal();
+            }
+        });
+
+        int maxCells = deck.size() + 1;
+        int maxPositions = maxCells + 2 * maxCells + 2;
+        int positionCapacity = Integer.highestOneBit(maxPositions * 2 - 1) << 1;
+        this.positionKeys = new long[positionCapacity];
+        this.positionValues = new int[positionCapacity];
+        this.positionMask = positionCapacity - 1;
+        Arrays.fill(this.positionValues, EMPTY);
+
+        this.frontierPositions = new long[2 * maxCells + 2];
+        this.frontierMasks = new int[2 * maxCells + 2];
+        this.frontierValues = new int[2 * maxCells + 2];
+        this.frontierSize = 0;
+
+        this.cellPositions = new long[maxCells];
+        this.cellDefinitions = new int[maxCells];
+        this.cellRotations = new byte[maxCells];
+        this.cellMonasteryNeighbours = new int[maxCells];
+        this.cellStamps = new int[maxCells];
+        this.cellCount = 0;
+        this.stamp = 0;
+
+        int maxSections = maxCells * SECTIONS_PER_CELL;
+        this.sectionTypes = new byte[maxSections];
+        this.sectionMeeples = new byte[maxSections];
+        this.featureParents = new int[maxSections];
+        this.featureSizes = new int[maxSections];
+        this.featureNextSections = new int[maxSections];
+        this.featureLastSections = new int[maxSections];
+        this.featureOpenEdges = new int[maxSections];
+        this.featureMeepleTotals = new int[maxSections];
+        this.featureMeepleCounts = new int[maxSections * CarcassonneApi.MAX_PLAYERS];
+
+        this.completedFeatures = new int[SECTIONS_PER_CELL];
+        this.completedFeatureCount = 0;
+        this.completedMonasteries = new int[9];
+        this.completedMonasteryCount = 0;
+        this.meepleSections = new int[SECTIONS_PER_CELL];
+        this.meepleFeatures = new int[SECTIONS_PER_CELL];
+
+        this.playerCount = playerCount;
+        this.scores = new int[playerCount];
+        this.meeplesLeft = new int[playerCount];
+        Arrays.fill(this.meeplesLeft, Player.MEEPLE_PER_PLAYER);
+        this.currentPlayer = 0;
+        this.deckPosition = 0;
+
+        this.trailedArrays = createTrailedArrays();
+        this.trailFields = new int[INITIAL_TRAIL_CAPACITY];
+        this.trailIndices = new int[INITIAL_TRAIL_CAPACITY];
+        this.trailValues = new long[INITIAL_TRAIL_CAPACITY];
+        this.trailSize = 0;
+        // one more than the deck for the move forEachLegalMove tries on top of a full line of play
+        this.moves = new int[(this.deck.length + 1) * MOVE_RECORD_SIZE];
+        this.moveCount = 0;
+
+        addFrontierSlot(Position.pack(0, 0));
+        placeCell(Position.pack(0, 0), 0, 0);
+
+        this.isEnded = false;
+        drawTile();
+    }
+
+    // the fork shares the immutable tile tables and copies only the used part of every other array. that is a few
+    // kilobytes at most, which costs less than the indirection copy-on-write would add to every read.
+    // the deck is copied too, so the fork can shuffle its undrawn tiles
+    private CompactGame(CompactGame game) {
+        this.definitions = game.definitions;
+        this.definitionSignatures = game.definitionSignatures;
+        this.definitionDistinctRotations = game.definitionDistinctRotations;
+        this.definitionCenterTypes = game.definitionCenterTypes;
+        this.definitionCoatsOfArms = game.definitionCoatsOfArms;
+        this.deck = game.deck.clone();
+
+        this.positionKeys = game.positionKeys.clone();
+        this.positionValues = game.positionValues.clone();
+        this.positionMask = game.positionMask;
+
+        this.frontierPositions = copyOf(game.frontierPositions, game.frontierSize);
+        this.frontierMasks = copyOf(game.frontierMasks, game.frontierSize);
+        this.frontierValues = copyOf(game.frontierValues, game.frontierSize);
+        this.frontierSize = game.frontierSize;
+
+        this.cellPositions = copyOf(game.cellPositions, game.cellCount);
+        this.cellDefinitions = copyOf(game.cellDefinitions, game.cellCount);
+        this.cellRotations = copyOf(game.cellRotations, game.cellCount);
+        this.cellMonasteryNeighbours = copyOf(game.cellMonasteryNeighbours, game.cellCount);
+        this.cellStamps = new int[game.cellStamps.length];
+        this.cellCount = game.cellCount;
+        this.stamp = 0;
+
+        int sectionCount = game.cellCount * SECTIONS_PER_CELL;
+        this.sectionTypes = copyOf(game.sectionTypes, sectionCount);
+        this.sectionMeeples = copyOf(game.sectionMeeples, sectionCount);
+        this.featureParents = copyOf(game.featureParents, sectionCount);
+        this.featureSizes = copyOf(game.featureSizes, sectionCount);
+        this.featureNextSections = copyOf(game.featureNextSections, sectionCount);
+        this.featureLastSections = copyOf(game.featureLastSections, sectionCount);
+        this.featureOpenEdges = copyOf(game.featureOpenEdges, sectionCount);
+        this.featureMeepleTotals = copyOf(game.featureMeepleTotals, sectionCount);
+        this.featureMeepleCounts = copyOf(game.featureMeepleCounts, sectionCount * CarcassonneApi.MAX_PLAYERS);
+
+        this.completedFeatures = game.completedFeatures.clone();
+        this.completedFeatureCount = game.completedFeatureCount;
+        this.completedMonasteries = game.completedMonasteries.clone();
+        this.completedMonasteryCount = game.completedMonasteryCount;
+        this.meepleSections = new int[SECTIONS_PER_CELL];
+        this.meepleFeatures = new int[SECTIONS_PER_CELL];
+
+        this.playerCount = game.playerCount;
+        this.scores = game.scores.clone();
+        this.meeplesLeft = game.meeplesLeft.clone();
+        this.currentPlayer = game.currentPlayer;
+        this.deckPosition = game.deckPosition;
+        this.currentDefinition = game.currentDefinition;
+        this.hasPlacedTile = game.hasPlacedTile;
+        this.hasPlacedMeeple = game.hasPlacedMeeple;
+        this.hasScored = game.hasScored;
+        this.isEnded = game.isEnded;
+
+        this.trailedArrays = createTrailedArrays();
+        this.trailFields = new int[INITIAL_TRAIL_CAPACITY];
+        this.trailIndices = new int[INITIAL_TRAIL_CAPACITY];
+        this.trailValues = new long[INITIAL_TRAIL_CAPACITY];
+        this.trailSize = 0;
+        this.moves = new int[game.moves.length];
+        this.moveCount = 0;
+    }
+
+    // a new game over the tiles left in the deck, drawn in the order the deck would draw them
+    public static CompactGame of(TileManager tileManager, int playerCount) {
+        List<TileDefinition> deck = new ArrayList<>(tileManager.getRemainingTiles().size());
+        for (Tile tile : tileManager.getRemainingTiles()) {
+            deck.add(tile.getDefinition());
+        }
+        return new CompactGame(tileManager.getStartTile().getDefinition(), deck, playerCount);
+    }
+
+    // the game on the board at the start of a turn, with its meeples, scores and current player as they are. the placed
+    // tiles are replayed breadth first from the start tile so each abuts one placed before it, then the meeples, scores
+    // and player are written in directly, since the moves that led to them are not known
+    public static CompactGame of(Board board,
+                                 Tile currentTile,
+                                 List<Tile> remainingTiles,
+                                 List<Player> players,
+                                 int currentPlayer) {
+        long origin = Position.pack(0, 0);
+        List<Long> positions = new ArrayList<>(board.getTileCount());
+        Set<Long> seenPositions = new HashSet<>();
+        positions.add(origin);
+        seenPositions.add(origin);
+        for (int index = 0; index < positions.size(); index++) {
+            for (Direction direction : DIRECTIONS) {
+                long abuttingPosition = Position.getAbutting(positions.get(index), direction);
+                if (board.getTileOrNull(abuttingPosition) != null && seenPositions.add(abuttingPosition)) {
+                    positions.add(abuttingPosition);
+                }
+            }
+        }
+        assert positions.size() == board.getTileCount() : "every tile is connected to the start tile";
+
+        List<TileDefinition> deck = new ArrayList<>(positions.size() + remainingTiles.size());
+        for (int index = 1; index < positions.size(); index++) {
+            deck.add(board.getTileOrNull(positions.get(index)).getDefinition());
+        }
+        deck.add(currentTile.getDefinition());
+        for (Tile tile : remainingTiles) {
+            deck.add(tile.getDefinition());
+        }
+
+        CompactGame game = new CompactGame(board.getTileOrNull(origin).getDefinition(), deck, players.size());
+        for (int index = 1; index < positions.size(); index++) {
+            long position = positions.get(index);
+            boolean isPlaced = game.placeTile(Position.getX(position), Position.getY(position),
+                    board.getTileOrNull(position).getClockWiseRotationCount());
+            assert isPlaced : "board tiles fit each other";
+            game.scoreFeatures();
+            game.nextTurn();
+        }
+
+        int[] playerIndices = new int[PlayerColor.values().length];
+        for (int player = 0; player < players.size(); player++) {
+            playerIndices[players.get(player).getColor().ordinal()] = player;
+            game.scores[player] = players.get(player).getScore();
+            game.meeplesLeft[player] = (int) players.get(player).getNumberOfUnplacedMeeples();
+        }
+        for (int cell = 0; cell < positions.size(); cell++) {
+            Tile tile = board.getTileOrNull(positions.get(cell));
+            int firstSection = cell * SECTIONS_PER_CELL;
+            for (int section = 0; section < EDGE_SECTION_COUNT + tile.getCenterSections().size(); section++) {
+                int cellSection = firstSection + section;
+                getTileSection(tile, section).getMeeple().ifPresent(meeple ->
+                        game.restoreMeeple(cellSection, playerIndices[meeple.getOwner()]));
+            }
+        }
+        game.currentPlayer = currentPlayer;
+        return game;
+    }
+
+    // an independent copy of the game as it stands, for example to run rollouts on another thread.
+    // moves applied before the fork cannot be undone on the copy
+    public CompactGame fork() {
+        return new CompactGame(this);
+    }
+
+    // puts the undrawn tiles in a random order, so that a search over the game cannot see the order of the real deck.
+    // undo does not put the old order back, only the undrawn tiles are guaranteed to stay the same
+    public void shuffleRemainingTiles(Random random) {
+        for (int index = this.deck.length - 1; index > this.deckPosition; index--) {
+            int other = this.deckPosition + random.nextInt(index - this.deckPosition + 1);
+            int temp = this.deck[index];
+            this.deck[index] = this.deck[other];
+            this.deck[other] = temp;
+        }
+    }
+
+    // makes the next tile drawn one of the given definition, for searches that go through every possible draw.
+    // like shuffleRemainingTiles, the order is not restored by undo
+    public void setNextTile(int definition) {
+        for (int index = this.deckPosition; index < this.deck.length; index++) {
+            if (this.deck[index] == definition) {
+                this.deck[index] = this.deck[this.deckPosition];
+                this.deck[this.deckPosition] = definition;
+                return;
+            }
+        }
+        throw new IllegalStateException("no tile of that definition left");
+    }
+
+    // counts[definition] is set to the number of undrawn tiles of that definition, see getDefinition
+    public void countRemainingTiles(int[] counts) {
+        assert counts.length >= this.definitions.length : "too few counts";
+
+        Arrays.fill(counts, 0);
+        for (int index = this.deckPosition; index < this.deck.length; index++) {
+            counts[this.deck[index]]++;
+        }
+    }
+
+    // definitions are numbered by the order they first appear in the deck, after the start tile
+    public int getDefinitionCount() {
+        return this.definitions.length;
+    }
+
+    public TileDefinition getDefinition(int definition) {
+        return this.definitions[definition];
+    }
+
+    public int getPlayerCount() {
+        return this.playerCount;
+    }
+
+    public int getCurrentPlayer() {
+        return this.currentPlayer;
+    }
+
+    public int getScore(int player) {
+        return this.scores[player];
+    }
+
+    public int getMeeplesLeft(int player) {
+        return this.meeplesLeft[player];
+    }
+
+    public boolean isEnded() {
+        return this.isEnded;
+    }
+
+    public int getRemainingTileCount() {
+        return this.deck.length - this.deckPosition;
+    }
+
+    // the undrawn tiles in draw order
+    public List<TileDefinition> getRemainingTiles() {
+        List<TileDefinition> tiles = new ArrayList<>(getRemainingTileCount());
+        for (int index = this.deckPosition; index < this.deck.length; index++) {
+            tiles.add(this.definitions[this.deck[index]]);
+        }
+        return tiles;
+    }
+
+    public int getTileCount() {
+        return this.cellCount;
+    }
+
+    // the tile drawn for the current turn
+    public TileDefinition getCurrentTile() {
+        return this.definitions[this.currentDefinition];
+    }
+
+    public int getFrontierSize() {
+        return this.frontierSize;
+    }
+
+    public @Nullable TileDefinition getTile(int xPosition, int yPosition) {
+        int cell = getCell(Position.pack(xPosition, yPosition));
+        return cell < 0 ? null : this.definitions[this.cellDefinitions[cell]];
+    }
+
+    public int getRotation(int xPosition, int yPosition) {
+        int cell = getCell(Position.pack(xPosition, yPosition));
+        return cell < 0 ? -1 : this.cellRotations[cell];
+    }
+
+    // the type of a section of the tile placed this turn, see SECTIONS_PER_CELL
+    public @Nullable TileSectionType getSectionType(int section) {
+        assert this.hasPlacedTile : "no tile placed this turn";
+
+        byte type = this.sectionTypes[(this.cellCount - 1) * SECTIONS_PER_CELL + section];
+        return type == NO_SECTION ? null : SECTION_TYPES[type];
+    }
+
+    public static int getEdgeSection(Direction direction) {
+        return direction.ordinal();
+    }
+
+    public static int getCenterSection(int centerIndex) {
+        return EDGE_SECTION_COUNT + centerIndex;
+    }
+
+    // the section of a placed tile that a compact game section stands for
+    public static TileSection getTileSection(Tile tile, int section) {
+        return section < EDGE_SECTION_COUNT
+                ? tile.getSection(DIRECTIONS[section])
+                : tile.getCenterSections().get(section - EDGE_SECTION_COUNT);
+    }
+
+    public void forEachLegalPlacement(PlacementGenerator.PlacementConsumer consumer) {
+        if (this.isEnded) {
+            return;
+        }
+
+        int baseSignature = this.definitionSignatures[this.currentDefinition];
+        int distinctRotations = this.definitionDistinctRotations[this.currentDefinition];
+
+        for (int slot = 0; slot < this.frontierSize; slot++) {
+            for (int rotation = 0; rotation < PlacementGenerator.ROTATION_COUNT; rotation++) {
+                int signature = EdgeSignature.rotateClockwise(baseSignature, rotation);
+                if ((distinctRotations & (1 << rotation)) != 0
+                        && (signature & this.frontierMasks[slot]) == this.frontierValues[slot]) {
+                    long position = this.frontierPositions[slot];
+                    consumer.accept(Position.getX(position), Position.getY(position), rotation);
+                }
+            }
+        }
+    }
+
+    // every distinct way to play the current tile. meeple options on sections that end up in the same feature lead to
+    // the same game, so only the first of them is offered. the consumer must not modify the game or list its moves again
+    public void forEachLegalMove(MoveConsumer consumer) {
+        if (this.isEnded) {
+            return;
+        }
+
+        int baseSignature = this.definitionSignatures[this.currentDefinition];
+        int distinctRotations = this.definitionDistinctRotations[this.currentDefinition];
+        int[] meepleSections = this.meepleSections;
+        int[] meepleFeatures = this.meepleFeatures;
+
+        for (int slot = 0; slot < this.frontierSize; slot++) {
+            for (int rotation = 0; rotation < PlacementGenerator.ROTATION_COUNT; rotation++) {
+                int signature = EdgeSignature.rotateClockwise(baseSignature, rotation);
+                if ((distinctRotations & (1 << rotation)) == 0
+                        || (signature & this.frontierMasks[slot]) != this.frontierValues[slot]) {
+                    continue;
+                }
+
+                // try the placement to see which sections can take a meeple, undoing restores the frontier order
+                long position = this.frontierPositions[slot];
+                int xPosition = Position.getX(position);
+                int yPosition = Position.getY(position);
+                pushMove();
+                placeTile(xPosition, yPosition, rotation);
+                int meepleSectionCount = 0;
+                for (int section = 0; section < SECTIONS_PER_CELL; section++) {
+                    if (!canPlaceMeeple(section)) {
+                        continue;
+                    }
+                    int index = (this.cellCount - 1) * SECTIONS_PER_CELL + section;
+                    int feature = this.sectionTypes[index] == MONASTERY ? index : find(index);
+                    boolean isDuplicate = false;
+                    for (int previous = 0; previous < meepleSectionCount; previous++) {
+                        isDuplicate |= meepleFeatures[previous] == feature;
+                    }
+                    if (!isDuplicate) {
+                        meepleSections[meepleSectionCount] = section;
+                        meepleFeatures[meepleSectionCount] = feature;
+                        meepleSectionCount++;
+                    }
+                }
+                undo();
+
+                consumer.accept(xPosition, yPosition, rotation, Move.NO_MEEPLE);
+                for (int index = 0; index < meepleSectionCount; index++) {
+                    consumer.accept(xPosition, yPosition, rotation, meepleSections[index]);
+                }
+            }
+        }
+    }
+
+    public List<Move> generateLegalMoves() {
+        List<Move> moves = new ArrayList<>();
+        forEachLegalMove((xPosition, yPosition, rotation, meepleSection) ->
+                moves.add(new Move(xPosition, yPosition, rotation, meepleSection)));
+        return moves;
+    }
+
+    // plays a whole turn: places the tile, the meeple if any, scores and draws the next tile
+    public boolean apply(Move move) {
+        assert !this.isEnded && !this.hasPlacedTile : "a move starts at the beginning of a turn";
+
+        pushMove();
+        if (!placeTile(move.getXPosition(), move.getYPosition(), move.getClockWiseRotationCount())
+                || (move.hasMeeple() && !placeMeeple(move.getMeepleSection()))) {
+            undo();
+            return false;
+        }
+        scoreFeatures();
+        nextTurn();
+        return true;
+    }
+
+    // takes back the last applied move
+    public void undo() {
+        assert this.moveCount > 0 : "no move to undo";
+
+        int move = --this.moveCount * MOVE_RECORD_SIZE;
+        int trailMark = this.moves[move + MOVE_TRAIL_SIZE];
+        while (this.trailSize > trailMark) {
+            this.trailSize--;
+            int field = this.trailFields[this.trailSize];
+            int index = this.trailIndices[this.trailSize];
+            long value = this.trailValues[this.trailSize];
+            if (field == FRONTIER_POSITIONS) {
+                this.frontierPositions[index] = value;
+            } else if (field == SECTION_MEEPLES) {
+                this.sectionMeeples[index] = (byte) value;
+            } else {
+                this.trailedArrays[field][index] = (int) value;
+            }
+        }
+
+        this.frontierSize = this.moves[move + MOVE_FRONTIER_SIZE];
+        this.cellCount = this.moves[move + MOVE_CELL_COUNT];
+        this.currentPlayer = this.moves[move + MOVE_CURRENT_PLAYER];
+        this.deckPosition = this.moves[move + MOVE_DECK_POSITION];
+        this.currentDefinition = this.moves[move + MOVE_CURRENT_DEFINITION];
+        this.completedFeatureCount = 0;
+        this.completedMonasteryCount = 0;
+        this.hasPlacedTile = false;
+        this.hasPlacedMeeple = false;
+        this.hasScored = false;
+        this.isEnded = false;
+    }
+
+    public int getMoveCount() {
+        return this.moveCount;
+    }
+
+    public boolean placeTile(int xPosition, int yPosition, int clockWiseRotationCount) {
+        assert !this.isEnded && !this.hasPlacedTile : "cannot place a tile now";
+
+        long position = Position.pack(xPosition, yPosition);
+        int value = this.positionValues[indexOf(position)];
+        if (value == EMPTY || value >= 0) {
+            return false;
+        }
+
+        int slot = -1 - value;
+        int signature = EdgeSignature.rotateClockwise(this.definitionSignatures[this.currentDefinition],
+                clockWiseRotationCount);
+        if ((signature & this.frontierMasks[slot]) != this.frontierValues[slot]) {
+            return false;
+        }
+
+        placeCell(position, this.currentDefinition, clockWiseRotationCount);
+        this.hasPlacedTile = true;
+        return true;
+    }
+
+    public boolean canPlaceMeeple(int section) {
+        if (!this.hasPlacedTile || this.hasPlacedMeeple || this.hasScored) {
+            return false;
+        }
+        if (this.meeplesLeft[this.currentPlayer] == 0) {
+            return false;
+        }
+
+        int index = (this.cellCount - 1) * SECTIONS_PER_CELL + section;
+        byte type = this.sectionTypes[index];
+        if (type == MONASTERY) {
+            return true;
+        }
+        if (type != CITY && type != ROAD) {
+            return false;
+        }
+        return this.featureMeepleTotals[find(index)] == 0;
+    }
+
+    public boolean placeMeeple(int section) {
+        if (!canPlaceMeeple(section)) {
+            return false;
+        }
+
+        int index = (this.cellCount - 1) * SECTIONS_PER_CELL + section;
+        writeMeeple(index, (byte) this.currentPlayer);
+        increment(MEEPLES_LEFT, this.currentPlayer, -1);
+        if (this.sectionTypes[index] != MONASTERY) {
+            int root = find(index);
+            increment(FEATURE_MEEPLE_TOTALS, root, 1);
+            increment(FEATURE_MEEPLE_COUNTS, root * CarcassonneApi.MAX_PLAYERS + this.currentPlayer, 1);
+        }
+
+        this.hasPlacedMeeple = true;
+        return true;
+    }
+
+    public void scoreFeatures() {
+        assert this.hasPlacedTile && !this.hasScored : "cannot score now";
+
+        for (int index = 0; index < this.completedFeatureCount; index++) {
+            scoreFeature(this.completedFeatures[index]);
+        }
+        this.completedFeatureCount = 0;
+
+        for (int index = 0; index < this.completedMonasteryCount; index++) {
+            int section = this.completedMonasteries[index] * SECTIONS_PER_CELL + getMonasterySection(this.completedMonasteries[index]);
+            int owner = this.sectionMeeples[section];
+            if (owner != NO_MEEPLE) {
+                increment(SCORES, owner, MonasteryFeature.POINTS_PER_MONASTERY);
+                removeMeeple(section);
+            }
+        }
+        this.completedMonasteryCount = 0;
+
+        this.hasScored = true;
+    }
+
+    public void nextTurn() {
+        assert this.hasPlacedTile && this.hasScored : "turn not finished";
+
+        if (getRemainingTileCount() == 0) {
+            this.isEnded = true;
+            return;
+        }
+
+        drawTile();
+        this.currentPlayer = this.currentPlayer + 1 == this.playerCount ? 0 : this.currentPlayer + 1;
+    }
+
+    // the rules set aside a tile that fits nowhere and draw another for the same player. like the draw in nextTurn,
+    // it is only taken back by undoing an earlier move
+    public void discardTile() {
+        assert !this.isEnded && !this.hasPlacedTile : "cannot discard a tile now";
+
+        drawTile();
+    }
+
+    private void drawTile() {
+        if (getRemainingTileCount() == 0) {
+            this.isEnded = true;
+            return;
+        }
+
+        this.currentDefinition = this.deck[this.deckPosition++];
+        this.hasPlacedTile = false;
+        this.hasPlacedMeeple = false;
+        this.hasScored = false;
+    }
+
+    private void placeCell(long position, int definition, int clockWiseRotationCount) {
+        int cell = this.cellCount++;
+        this.cellPositions[cell] = position;
+        this.cellDefinitions[cell] = definition;
+        this.cellRotations[cell] = (byte) clockWiseRotationCount;
+        this.cellMonasteryNeighbours[cell] = NOT_A_MONASTERY;
+
+        removeFrontierSlot(position);
+        write(POSITION_VALUES, indexOf(position), cell);
+
+        TileDefinition tileDefinition = this.definitions[definition];
+        int firstSection = cell * SECTIONS_PER_CELL;
+        for (Direction direction : DIRECTIONS) {
+            TileSectionType type = tileDefinition.getEdgeType(direction, clockWiseRotationCount);
+            int section = firstSection + direction.ordinal();
+            this.sectionTypes[section] = (byte) type.ordinal();
+            this.sectionMeeples[section] = NO_MEEPLE;
+
+            long abuttingPosition = Position.getAbutting(position, direction);
+            int abuttingCell = getCell(abuttingPosition);
+            if (abuttingCell < 0) {
+                constrainFrontierSlot(abuttingPosition, direction.oppositeDirection(), type);
+            }
+
+            if (type != TileSectionType.CITY && type != TileSectionType.ROAD) {
+                continue;
+            }
+
+            makeFeature(section, abuttingCell < 0 ? 1 : 0);
+            if (abuttingCell >= 0) {
+                int abuttingSection = abuttingCell * SECTIONS_PER_CELL + direction.oppositeDirection().ordinal();
+                increment(FEATURE_OPEN_EDGES, find(abuttingSection), -1);
+                union(section, abuttingSection);
+            }
+        }
+
+        for (int center = 0; center < MAX_CENTER_SECTIONS; center++) {
+            byte type = this.definitionCenterTypes[definition * MAX_CENTER_SECTIONS + center];
+            int section = firstSection + EDGE_SECTION_COUNT + center;
+            this.sectionTypes[section] = type;
+            this.sectionMeeples[section] = NO_MEEPLE;
+
+            if (type == MONASTERY) {
+                this.cellMonasteryNeighbours[cell] = 0;
+            } else if (type == CITY || type == ROAD) {
+                // edges are indexed by the direction they face, as is the definition's center edge mask
+                makeFeature(section, 0);
+                int edgeMask = tileDefinition.getCenterEdgeMask(center, clockWiseRotationCount);
+                for (int edge = 0; edge < EDGE_SECTION_COUNT; edge++) {
+                    if ((edgeMask & (1 << edge)) != 0) {
+                        union(section, firstSection + edge);
+                    }
+                }
+            }
+        }
+
+        updateMonasteries(cell, position);
+        collectCompletedFeatures(firstSection);
+    }
+
+    private void updateMonasteries(int cell, long position) {
+        int xPosition = Position.getX(position);
+        int yPosition = Position.getY(position);
+        for (int x = xPosition - 1; x <= xPosition + 1; x++) {
+            for (int y = yPosition - 1; y <= yPosition + 1; y++) {
+                if (x == xPosition && y == yPosition) {
+                    continue;
+                }
+
+                int neighbour = getCell(Position.pack(x, y));
+                if (neighbour < 0) {
+                    continue;
+                }
+                if (this.cellMonasteryNeighbours[cell] != NOT_A_MONASTERY) {
+                    addMonasteryNeighbour(cell);
+                }
+                if (this.cellMonasteryNeighbours[neighbour] != NOT_A_MONASTERY) {
+                    addMonasteryNeighbour(neighbour);
+                }
+            }
+        }
+    }
+
+    private void addMonasteryNeighbour(int cell) {
+        increment(CELL_MONASTERY_NEIGHBOURS, cell, 1);
+        if (this.cellMonasteryNeighbours[cell] == MonasteryFeature.NEIGHBOUR_COUNT) {
+            this.completedMonasteries[this.completedMonasteryCount++] = cell;
+        }
+    }
+
+    private int getMonasterySection(int cell) {
+        int definition = this.cellDefinitions[cell];
+        for (int center = 0; center < MAX_CENTER_SECTIONS; center++) {
+            if (this.definitionCenterTypes[definition * MAX_CENTER_SECTIONS + center] == MONASTERY) {
+                return EDGE_SECTION_COUNT + center;
+            }
+        }
+        throw new IllegalStateException("cell has no monastery");
+    }
+
+    // only features holding the tile just placed can have been completed by it
+    private void collectCompletedFeatures(int firstSection) {
+        for (int section = firstSection; section < firstSection + SECTIONS_PER_CELL; section++) {
+            byte type = this.sectionTypes[section];
+            if (type != CITY && type != ROAD) {
+                continue;
+            }
+
+            int root = find(section);
+            if (this.featureOpenEdges[root] != 0) {
+                continue;
+            }
+
+            boolean isCollected = false;
+            for (int index = 0; index < this.completedFeatureCount; index++) {
+                isCollected |= this.completedFeatures[index] == root;
+            }
+            if (!isCollected) {
+                this.completedFeatures[this.completedFeatureCount++] = root;
+            }
+        }
+    }
+
+    private void scoreFeature(int root) {
+        // count distinct tiles, a tile can appear more than once when it has separate segments of the same type
+        int tileCount = 0;
+        int coatOfArmsCount = 0;
+        this.stamp++;
+        for (int section = root; section != -1; section = this.featureNextSections[section]) {
+            int cell = section / SECTIONS_PER_CELL;
+            if (this.cellStamps[cell] != this.stamp) {
+                this.cellStamps[cell] = this.stamp;
+                tileCount++;
+                if (this.definitionCoatsOfArms[this.cellDefinitions[cell]]) {
+                    coatOfArmsCount++;
+                }
+            }
+        }
+
+        int score = this.sectionTypes[root] == CITY
+                ? tileCount * GraphFeature.CITY_POINTS_PER_TILE + coatOfArmsCount * GraphFeature.COAT_OF_ARMS_POINTS_PER_TILE
+                : tileCount * GraphFeature.ROAD_POINTS_PER_TILE;
+
+        int countsOffset = root * CarcassonneApi.MAX_PLAYERS;
+        int maxMeepleCount = 0;
+        int playersWithMaxMeepleCount = 0;
+        for (int player = 0; player < this.playerCount; player++) {
+            int meepleCount = this.featureMeepleCounts[countsOffset + player];
+            if (meepleCount > maxMeepleCount) {
+                maxMeepleCount = meepleCount;
+                playersWithMaxMeepleCount = 1;
+            } else if (meepleCount == maxMeepleCount) {
+                playersWithMaxMeepleCount++;
+            }
+        }
+
+        if (maxMeepleCount > 0) {
+            int scorePerPlayer = score / playersWithMaxMeepleCount;
+            for (int player = 0; player < this.playerCount; player++) {
+                if (this.featureMeepleCounts[countsOffset + player] == maxMeepleCount) {
+                    increment(SCORES, player, scorePerPlayer);
+                }
+            }
+
+            for (int section = root; section != -1; section = this.featureNextSections[section]) {
+                if (this.sectionMeeples[section] != NO_MEEPLE) {
+                    removeMeeple(section);
+                }
+            }
+            for (int player = 0; player < this.playerCount; player++) {
+                write(FEATURE_MEEPLE_COUNTS, countsOffset + player, 0);
+            }
+            write(FEATURE_MEEPLE_TOTALS, root, 0);
+        }
+    }
+
+    // puts back a meeple that was placed on an earlier turn, without the checks or trail of placeMeeple
+    private void restoreMeeple(int section, int player) {
+        this.sectionMeeples[section] = (byte) player;
+        if (this.sectionTypes[section] != MONASTERY) {
+            int root = find(section);
+            this.featureMeepleTotals[root]++;
+            this.featureMeepleCounts[root * CarcassonneApi.MAX_PLAYERS + player]++;
+        }
+    }
+
+    private void removeMeeple(int section) {
+        increment(MEEPLES_LEFT, this.sectionMeeples[section], 1);
+        writeMeeple(section, NO_MEEPLE);
+    }
+
+    private void makeFeature(int section, int openEdges) {
+        this.featureParents[section] = section;
+        this.featureSizes[section] = 1;
+        this.featureNextSections[section] = -1;
+        this.featureLastSections[section] = section;
+        this.featureOpenEdges[section] = openEdges;
+        this.featureMeepleTotals[section] = 0;
+        Arrays.fill(this.featureMeepleCounts, section * CarcassonneApi.MAX_PLAYERS,
+                (section + 1) * CarcassonneApi.MAX_PLAYERS, 0);
+    }
+
+    // no path compression so finding never writes, union by size alone keeps the trees shallow
+    private int find(int section) {
+        while (this.featureParents[section] != section) {
+            section = this.featureParents[section];
+        }
+        return section;
+    }
+
+    // union by size, the larger root keeps the sections, open edges and meeple counts of both
+    private void union(int section, int anotherSection) {
+        int root = find(section);
+        int anotherRoot = find(anotherSection);
+        if (root == anotherRoot) {
+            return;
+        }
+
+        if (this.featureSizes[root] < this.featureSizes[anotherRoot]) {
+            int temp = root;
+            root = anotherRoot;
+            anotherRoot = temp;
+        }
+
+        write(FEATURE_PARENTS, anotherRoot, root);
+        increment(FEATURE_SIZES, root, this.featureSizes[anotherRoot]);
+        write(FEATURE_NEXT_SECTIONS, this.featureLastSections[root], anotherRoot);
+        write(FEATURE_LAST_SECTIONS, root, this.featureLastSections[anotherRoot]);
+        increment(FEATURE_OPEN_EDGES, root, this.featureOpenEdges[anotherRoot]);
+        increment(FEATURE_MEEPLE_TOTALS, root, this.featureMeepleTotals[anotherRoot]);
+        for (int player = 0; player < this.playerCount; player++) {
+            increment(FEATURE_MEEPLE_COUNTS, root * CarcassonneApi.MAX_PLAYERS + player,
+                    this.featureMeepleCounts[anotherRoot * CarcassonneApi.MAX_PLAYERS + player]);
+        }
+    }
+
+    private void constrainFrontierSlot(long position, Direction direction, TileSectionType type) {
+        int index = indexOf(position);
+        int slot = this.positionValues[index] == EMPTY
+                ? addFrontierSlot(position)
+                : -1 - this.positionValues[index];
+        write(FRONTIER_MASKS, slot, this.frontierMasks[slot] | EdgeSignature.sideMask(direction));
+        write(FRONTIER_VALUES, slot, this.frontierValues[slot] | EdgeSignature.encode(direction, type));
+    }
+
+    private int addFrontierSlot(long position) {
+        int slot = this.frontierSize++;
+        writePosition(slot, position);
+        write(FRONTIER_MASKS, slot, 0);
+        write(FRONTIER_VALUES, slot, 0);
+
+        // undoing the move empties the entry again, which is safe because entries are undone in reverse order
+        int index = indexOf(position);
+        this.positionKeys[index] = position;
+        write(POSITION_VALUES, index, -1 - slot);
+        return slot;
+    }
+
+    // swaps the last slot into the removed one so the frontier stays dense
+    private void removeFrontierSlot(long position) {
+        int slot = -1 - this.positionValues[indexOf(position)];
+        int lastSlot = --this.frontierSize;
+        if (slot != lastSlot) {
+            long lastPosition = this.frontierPositions[lastSlot];
+            writePosition(slot, lastPosition);
+            write(FRONTIER_MASKS, slot, this.frontierMasks[lastSlot]);
+            write(FRONTIER_VALUES, slot, this.frontierValues[lastSlot]);
+            write(POSITION_VALUES, indexOf(lastPosition), -1 - slot);
+        }
+    }
+
+    private int[][] createTrailedArrays() {
+        return new int[][] {
+                this.positionValues,
+                this.frontierMasks,
+                this.frontierValues,
+                this.cellMonasteryNeighbours,
+                this.featureParents,
+                this.featureSizes,
+                this.featureNextSections,
+                this.featureLastSections,
+                this.featureOpenEdges,
+                this.featureMeepleTotals,
+                this.featureMeepleCounts,
+                this.scores,
+                this.meeplesLeft};
+    }
+
+    // copies the first count elements into an array of the same capacity
+    private static int[] copyOf(int[] array, int count) {
+        int[] copy = new int[array.length];
+        System.arraycopy(array, 0, copy, 0, count);
+        return copy;
+    }
+
+    private static long[] copyOf(long[] array, int count) {
+        long[] copy = new long[array.length];
+        System.arraycopy(array, 0, copy, 0, count);
+        return copy;
+    }
+
+    private static byte[] copyOf(byte[] array, int count) {
+        byte[] copy = new byte[array.length];
+        System.arraycopy(array, 0, copy, 0, count);
+        return copy;
+    }
+
+    private void pushMove() {
+        int move = this.moveCount++ * MOVE_RECORD_SIZE;
+        this.moves[move + MOVE_TRAIL_SIZE] = this.trailSize;
+        this.moves[move + MOVE_FRONTIER_SIZE] = this.frontierSize;
+        this.moves[move + MOVE_CELL_COUNT] = this.cellCount;
+        this.moves[move + MOVE_CURRENT_PLAYER] = this.currentPlayer;
+        this.moves[move + MOVE_DECK_POSITION] = this.deckPosition;
+        this.moves[move + MOVE_CURRENT_DEFINITION] = this.currentDefinition;
+    }
+
+    private void write(int field, int index, int value) {
+        int[] array = this.trailedArrays[field];
+        record(field, index, array[index]);
+        array[index] = value;
+    }
+
+    private void increment(int field, int index, int delta) {
+        write(field, index, this.trailedArrays[field][index] + delta);
+    }
+
+    private void writePosition(int slot, long position) {
+        record(FRONTIER_POSITIONS, slot, this.frontierPositions[slot]);
+        this.frontierPositions[slot] = position;
+    }
+
+    private void writeMeeple(int section, byte player) {
+        record(SECTION_MEEPLES, section, this.sectionMeeples[section]);
+        this.sectionMeeples[section] = player;
+    }
+
+    private void record(int field, int index, long oldValue) {
+        if (this.moveCount == 0) {
+            return;
+        }
+        if (this.trailSize == this.trailFields.length) {
+            int capacity = this.trailSize * 2;
+            this.trailFields = Arrays.copyOf(this.trailFields, capacity);
+            this.trailIndices = Arrays.copyOf(this.trailIndices, capacity);
+            this.trailValues = Arrays.copyOf(this.trailValues, capacity);
+        }
+        this.trailFields[this.trailSize] = field;
+        this.trailIndices[this.trailSize] = index;
+        this.trailValues[this.trailSize] = oldValue;
+        this.trailSize++;
+    }
+
+    private int getCell(long position) {
+        int value = this.positionValues[indexOf(position)];
+        return value < 0 ? -1 : value;
+    }
+
+    // the index holding the position, or the empty index where it would go. positions are only removed by undoing
+    // the move that added them, newest first, so probing never needs tombstones
+    private int indexOf(long position) {
+        long hash = position * 0x9E3779B97F4A7C15L;
+        int index = (int) (hash ^ (hash >>> 32)) & this.positionMask;
+        while (this.positionValues[index] != EMPTY && this.positionKeys[index] != position) {
+            index = (index + 1) & this.positionMask;
+        }
+        return index;
+    }
+
+    public interface MoveConsumer {
+        void accept(int xPosition, int yPosition, int clockWiseRotationCount, int meepleSection);
+    }
+}
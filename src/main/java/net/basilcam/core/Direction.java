@@ -6,6 +6,8 @@ public enum Direction {
     DOWN,
     RIGHT;
 
+    private static final Direction[] VALUES = values();
+
     public Direction oppositeDirection() {
         switch (this) {
             case UP:
@@ -33,4 +35,13 @@ public enum Direction {
                 throw new IllegalArgumentException(); // todo
         }
     }
+
+    // values() is declared counter-clockwise, so rotating is an offset into it
+    public Direction rotateCounterClockwise(int times) {
+        return VALUES[Math.floorMod(ordinal() + times, VALUES.length)];
+    }
+
+    public Direction rotateClockwise(int times) {
+        return rotateCounterClockwise(-times);
+    }
 }
@@ -0,0 +1,104 @@
+package net.basilcam.core;
+
+import net.basilcam.core.tiles.EdgeSignature;
+import net.basilcam.core.tiles.Tile;
+import net.basilcam.core.tiles.TileSectionType;
+import org.jetbrains.annotations.Nullable;
+
+// an empty board position that abuts at least one placed tile
+public class FrontierSlot {
+    private final long position;
+    private final TileSectionType[] requiredTypes;
+    private int requiredMask;
+    private int requiredValue;
+    private int abuttingTileCount;
+    private long fittingIds;
+
+    FrontierSlot(long position) {
+        this.position = position;
+        this.requiredTypes = new TileSectionType[Direction.values().length];
+        this.requiredMask = 0;
+        this.requiredValue = 0;
+        this.abuttingTileCount = 0;
+        this.fittingIds = 0;
+    }
+
+    public long getPosition() {
+        return this.position;
+    }
+
+    public int getXPosition() {
+        return Position.getX(this.position);
+    }
+
+    public int getYPosition() {
+        return Position.getY(this.position);
+    }
+
+    // the section type a tile placed here must have on the given side, or null if that side is unconstrained
+    public @Nullable TileSectionType getRequiredType(Direction direction) {
+        return this.requiredTypes[direction.ordinal()];
+    }
+
+    public int getAbuttingTileCount() {
+        return this.abuttingTileCount;
+    }
+
+    // edge signature bits of the constrained sides, see EdgeSignature
+    public int getRequiredMask() {
+        return this.requiredMask;
+    }
+
+    public int getRequiredValue() {
+        return this.requiredValue;
+    }
+
+    // bit i is set if a remaining tile with id i fits here, kept up to date by the board
+    public long getFittingIds() {
+        return this.fittingIds;
+    }
+
+    // no remaining tile fits, so features open towards this slot can never be completed.
+    // the tile currently in hand is not remaining and may still fit
+    public boolean isDead() {
+        return this.fittingIds == 0;
+    }
+
+    public boolean fits(Tile tile) {
+        return fits(tile.getEdgeSignature());
+    }
+
+    public boolean fits(Tile tile, int clockWiseRotationCount) {
+        return fits(tile.getEdgeSignature(clockWiseRotationCount));
+    }
+
+    public boolean fits(int edgeSignature) {
+        return (edgeSignature & this.requiredMask) == this.requiredValue;
+    }
+
+    void constrain(Direction direction, TileSectionType type) {
+        assert this.requiredTypes[direction.ordinal()] == null : "side already constrained";
+
+        this.requiredTypes[direction.ordinal()] = type;
+        this.requiredMask |= EdgeSignature.sideMask(direction);
+        this.requiredValue |= EdgeSignature.encode(direction, type);
+        this.abuttingTileCount++;
+    }
+
+    void setFittingIds(long fittingIds) {
+        this.fittingIds = fittingIds;
+    }
+
+    void removeFittingIds(long usedUpIds) {
+        this.fittingIds &= ~usedUpIds;
+    }
+
+    @Override
+    public String toString() {
+        return "FrontierSlot{" +
+                "x=" + getXPosition() +
+                ", y=" + getYPosition() +
+                ", abuttingTileCount=" + abuttingTileCount +
+                '}';
+    }
+}
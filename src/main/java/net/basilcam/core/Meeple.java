@@ -6,12 +6,18 @@ import java.util.EnumSet;
 
 public class Meeple {
     public static final EnumSet<TileSectionType> SUPPORTED_TYPES = EnumSet.of(TileSectionType.CITY, TileSectionType.ROAD, TileSectionType.MONASTERY);
+    private final int owner;
     private boolean isPlaced;
 
-    public Meeple() {
+    public Meeple(int owner) {
+        this.owner = owner;
         this.isPlaced = false;
     }
 
+    public int getOwner() {
+        return this.owner;
+    }
+
     public boolean isPlaced() {
         return this.isPlaced;
     }
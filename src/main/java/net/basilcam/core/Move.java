@@ -0,0 +1,70 @@
+package net.basilcam.core;
+
+import java.util.Objects;
+
+// a whole turn for CompactGame: where the drawn tile goes and which of its sections, if any, gets a meeple
+public class Move {
+    public static final int NO_MEEPLE = -1;
+
+    private final int xPosition;
+    private final int yPosition;
+    private final int clockWiseRotationCount;
+    private final int meepleSection;
+
+    public Move(int xPosition, int yPosition, int clockWiseRotationCount, int meepleSection) {
+        this.xPosition = xPosition;
+        this.yPosition = yPosition;
+        this.clockWiseRotationCount = clockWiseRotationCount;
+        this.meepleSection = meepleSection;
+    }
+
+    public int getXPosition() {
+        return this.xPosition;
+    }
+
+    public int getYPosition() {
+        return this.yPosition;
+    }
+
+    public int getClockWiseRotationCount() {
+        return this.clockWiseRotationCount;
+    }
+
+    public int getMeepleSection() {
+        return this.meepleSection;
+    }
+
+    public boolean hasMeeple() {
+        return this.meepleSection != NO_MEEPLE;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        Move move = (Move) o;
+        return this.xPosition == move.xPosition
+                && this.yPosition == move.yPosition
+                && this.clockWiseRotationCount == move.clockWiseRotationCount
+                && this.meepleSection == move.meepleSection;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.xPosition, this.yPosition, this.clockWiseRotationCount, this.meepleSection);
+    }
+
+    @Override
+    public String toString() {
+        return "Move{" +
+                "x=" + xPosition +
+                ", y=" + yPosition +
+                ", rotation=" + clockWiseRotationCount +
+                ", meepleSection=" + meepleSection +
+                '}';
+    }
+}
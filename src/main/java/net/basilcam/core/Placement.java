@@ -0,0 +1,55 @@
+package net.basilcam.core;
+
+import java.util.Objects;
+
+public class Placement {
+    private final int xPosition;
+    private final int yPosition;
+    private final int clockWiseRotationCount;
+
+    public Placement(int xPosition, int yPosition, int clockWiseRotationCount) {
+        this.xPosition = xPosition;
+        this.yPosition = yPosition;
+        this.clockWiseRotationCount = clockWiseRotationCount;
+    }
+
+    public int getXPosition() {
+        return this.xPosition;
+    }
+
+    public int getYPosition() {
+        return this.yPosition;
+    }
+
+    public int getClockWiseRotationCount() {
+        return this.clockWiseRotationCount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        Placement placement = (Placement) o;
+        return this.xPosition == placement.xPosition
+                && this.yPosition == placement.yPosition
+                && this.clockWiseRotationCount == placement.clockWiseRotationCount;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.xPosition, this.yPosition, this.clockWiseRotationCount);
+    }
+
+    @Override
+    public String toString() {
+        return "Placement{" +
+                "x=" + xPosition +
+                ", y=" + yPosition +
+                ", rotation=" + clockWiseRotationCount +
+                '}';
+    }
+}
@@ -0,0 +1,43 @@
+package net.basilcam.core;
+
+import net.basilcam.core.tiles.EdgeSignature;
+import net.basilcam.core.tiles.Tile;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public enum PlacementGenerator {
+    ;
+
+    public static final int ROTATION_COUNT = 4;
+
+    public static List<Placement> generateLegalPlacements(Board board, Tile tile) {
+        List<Placement> placements = new ArrayList<>();
+        forEachLegalPlacement(board, tile, (xPosition, yPosition, rotation) ->
+                placements.add(new Placement(xPosition, yPosition, rotation)));
+        return placements;
+    }
+
+    // walks the frontier instead of the board, and skips rotations that repeat an earlier one for symmetric tiles
+    public static void forEachLegalPlacement(Board board, Tile tile, PlacementConsumer consumer) {
+        int baseSignature = tile.getEdgeSignature(0);
+        int distinctRotations = EdgeSignature.getDistinctRotations(baseSignature);
+
+        board.forEachFrontierSlot(slot -> {
+            for (int rotation = 0; rotation < ROTATION_COUNT; rotation++) {
+                if ((distinctRotations & (1 << rotation)) != 0 && slot.fits(EdgeSignature.rotateClockwise(baseSignature, rotation))) {
+                    consumer.accept(slot.getXPosition(), slot.getYPosition(), rotation);
+                }
+            }
+        });
+    }
+
+    // bit i is set if rotation i puts a different sequence of section types on the edges than every rotation before it
+    public static int getDistinctRotations(Tile tile) {
+        return EdgeSignature.getDistinctRotations(tile.getEdgeSignature(0));
+    }
+
+    public interface PlacementConsumer {
+        void accept(int xPosition, int yPosition, int clockWiseRotationCount);
+    }
+}
@@ -2,54 +2,53 @@ package net.basilcam.core;
 
 import net.basilcam.core.tiles.Tile;
 import net.basilcam.core.tiles.TileSection;
-
-import java.util.Optional;
+import org.jetbrains.annotations.Nullable;
 
 public enum PlacementValidator {
     ;
 
     public static boolean isValid(Board board, int xPosition, int yPosition, Tile tile) {
-        if (board.getTile(xPosition, yPosition).isPresent()) {
+        if (board.hasTile(xPosition, yPosition)) {
             return false;
         }
 
         int adjacentTileCount = 0;
 
         TileSection topSection = tile.getTopSection();
-        Optional<Tile> adjacentTile = board.getTile(xPosition, yPosition + 1);
-        if (adjacentTile.isPresent()) {
+        @Nullable Tile adjacentTile = board.getTileOrNull(xPosition, yPosition + 1);
+        if (adjacentTile != null) {
             adjacentTileCount++;
-            TileSection adjacentSection = adjacentTile.get().getBottomSection();
+            TileSection adjacentSection = adjacentTile.getBottomSection();
             if (adjacentSection.getType() != topSection.getType()) {
                 return false;
             }
         }
 
         TileSection leftSection = tile.getLeftSection();
-        adjacentTile = board.getTile(xPosition - 1, yPosition);
-        if (adjacentTile.isPresent()) {
+        adjacentTile = board.getTileOrNull(xPosition - 1, yPosition);
+        if (adjacentTile != null) {
             adjacentTileCount++;
-            TileSection adjacentSection = adjacentTile.get().getRightSection();
+            TileSection adjacentSection = adjacentTile.getRightSection();
             if (adjacentSection.getType() != leftSection.getType()) {
                 return false;
             }
         }
 
         TileSection bottomSection = tile.getBottomSection();
-        adjacentTile = board.getTile(xPosition, yPosition - 1);
-        if (adjacentTile.isPresent()) {
+        adjacentTile = board.getTileOrNull(xPosition, yPosition - 1);
+        if (adjacentTile != null) {
             adjacentTileCount++;
-            TileSection adjacentSection = adjacentTile.get().getTopSection();
+            TileSection adjacentSection = adjacentTile.getTopSection();
             if (adjacentSection.getType() != bottomSection.getType()) {
                 return false;
             }
         }
 
-        adjacentTile = board.getTile(xPosition + 1, yPosition);
+        adjacentTile = board.getTileOrNull(xPosition + 1, yPosition);
         TileSection rightSection = tile.getRightSection();
-        if (adjacentTile.isPresent()) {
+        if (adjacentTile != null) {
             adjacentTileCount++;
-            TileSection adjacentSection = adjacentTile.get().getLeftSection();
+            TileSection adjacentSection = adjacentTile.getLeftSection();
             if (adjacentSection.getType() != rightSection.getType()) {
                 return false;
             }
@@ -5,18 +5,26 @@ import net.basilcam.gui.PlayerColor;
 import java.util.*;
 
 public class Player {
-    private static final int MEEPLE_PER_PLAYER = 7;
+    public static final int MEEPLE_PER_PLAYER = 7;
 
     private final String name;
     private int score;
     private final Meeple[] meeples;
     private final PlayerColor color;
+    private final ZobristHash hash;
 
     public Player(String name, PlayerColor color) {
+        this(name, color, new ZobristHash());
+    }
+
+    // scores are part of the hash of the player manager
+    Player(String name, PlayerColor color, ZobristHash hash) {
         this.name = name;
         this.score = 0;
-        this.meeples = Player.createMeeples();
+        this.meeples = Player.createMeeples(color.ordinal());
         this.color = color;
+        this.hash = hash;
+        this.hash.toggle(ZobristHash.scoreKey(color.ordinal(), 0));
     }
 
     public String getName() {
@@ -28,7 +36,13 @@ public class Player {
     }
 
     public void addScore(int score) {
+        this.hash.toggle(ZobristHash.scoreKey(this.color.ordinal(), this.score));
         this.score += score;
+        this.hash.toggle(ZobristHash.scoreKey(this.color.ordinal(), this.score));
+    }
+
+    void removeFromHash() {
+        this.hash.toggle(ZobristHash.scoreKey(this.color.ordinal(), this.score));
     }
 
     public int getScore() {
@@ -79,10 +93,10 @@ public class Player {
                 '}';
     }
 
-    private static Meeple[] createMeeples() {
+    private static Meeple[] createMeeples(int owner) {
         Meeple[] meeples = new Meeple[MEEPLE_PER_PLAYER];
         for (int i = 0; i < MEEPLE_PER_PLAYER; i++) {
-            meeples[i] = new Meeple();
+            meeples[i] = new Meeple(owner);
         }
         return meeples;
     }
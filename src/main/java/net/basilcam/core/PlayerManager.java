@@ -13,19 +13,36 @@ import java.util.Map;
 public class PlayerManager {
     private final List<Player> players;
     private final Map<Meeple, Player> meepleToPlayer;
+    private final ZobristHash hash;
 
     private int currentPlayerIndex;
 
     public PlayerManager() {
         this.players = new ArrayList<>();
         this.meepleToPlayer = new HashMap<>();
+        this.hash = new ZobristHash();
         this.currentPlayerIndex = 0;
+        this.hash.toggle(ZobristHash.currentPlayerKey(this.currentPlayerIndex));
     }
 
     public Player getCurrentPlayer() {
         return this.players.get(this.currentPlayerIndex);
     }
 
+    public Player getPlayer(int index) {
+        return this.players.get(index);
+    }
+
+    // players compare equal by name and score, so look them up by identity
+    public int getPlayerIndex(Player player) {
+        for (int index = 0; index < this.players.size(); index++) {
+            if (this.players.get(index) == player) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
     public ImmutableList<Player> getPlayers() {
         return ImmutableList.copyOf(this.players);
     }
@@ -41,7 +58,7 @@ public class PlayerManager {
             throw new IllegalStateException(ErrorMessages.ADD_PLAYER_COLOR_USED);
         }
 
-        Player player = new Player(name, color);
+        Player player = new Player(name, color, this.hash);
 
         this.players.add(player);
         addMeepleToPlayer(player);
@@ -50,7 +67,9 @@ public class PlayerManager {
     }
 
     public void removePlayer(Player player) {
-        this.players.remove(player);
+        if (this.players.remove(player)) {
+            player.removeFromHash();
+        }
 
         for (Meeple meeple : player.getMeeples()) {
             this.meepleToPlayer.remove(meeple);
@@ -58,9 +77,16 @@ public class PlayerManager {
     }
 
     public void nextTurn() {
+        this.hash.toggle(ZobristHash.currentPlayerKey(this.currentPlayerIndex));
         if (++this.currentPlayerIndex >= this.players.size()) {
             this.currentPlayerIndex = 0;
         }
+        this.hash.toggle(ZobristHash.currentPlayerKey(this.currentPlayerIndex));
+    }
+
+    // covers the scores and whose turn it is
+    public long getHash() {
+        return this.hash.get();
     }
 
     public Player getMeepleOwner(Meeple meeple) {
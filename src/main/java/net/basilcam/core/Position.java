@@ -0,0 +1,36 @@
+package net.basilcam.core;
+
+public enum Position {
+    ;
+
+    // a position is packed into a single long, x in the high 32 bits and y in the low 32 bits
+
+    public static long pack(int xPosition, int yPosition) {
+        return ((long) xPosition << 32) | (yPosition & 0xFFFFFFFFL);
+    }
+
+    public static int getX(long position) {
+        return (int) (position >> 32);
+    }
+
+    public static int getY(long position) {
+        return (int) position;
+    }
+
+    public static long getAbutting(long position, Direction direction) {
+        int xPosition = getX(position);
+        int yPosition = getY(position);
+        switch (direction) {
+            case UP:
+                return pack(xPosition, yPosition + 1);
+            case LEFT:
+                return pack(xPosition - 1, yPosition);
+            case DOWN:
+                return pack(xPosition, yPosition - 1);
+            case RIGHT:
+                return pack(xPosition + 1, yPosition);
+            default:
+                throw new AssertionError("unknown direction " + direction);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package net.basilcam.core;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+// open addressing map keyed by a packed position (see Position), lookups do not box or allocate
+public class PositionMap<V> {
+    private static final int DEFAULT_CAPACITY = 128;
+
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int size;
+
+    public PositionMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public PositionMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2 - 1)) << 1;
+        this.keys = new long[capacity];
+        this.values = new Object[capacity];
+        this.mask = capacity - 1;
+        this.size = 0;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public @Nullable V get(long position) {
+        int index = indexOf(position);
+        return index < 0 ? null : (V) this.values[index];
+    }
+
+    public @Nullable V get(int xPosition, int yPosition) {
+        return get(Position.pack(xPosition, yPosition));
+    }
+
+    public boolean containsKey(long position) {
+        return indexOf(position) >= 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public @Nullable V put(long position, V value) {
+        assert value != null : "null values are not supported";
+
+        int index = hash(position) & this.mask;
+        while (this.values[index] != null) {
+            if (this.keys[index] == position) {
+                V previous = (V) this.values[index];
+                this.values[index] = value;
+                return previous;
+            }
+            index = (index + 1) & this.mask;
+        }
+
+        this.keys[index] = position;
+        this.values[index] = value;
+        if (++this.size * 2 > this.values.length) {
+            resize();
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public @Nullable V remove(long position) {
+        int index = indexOf(position);
+        if (index < 0) {
+            return null;
+        }
+
+        V previous = (V) this.values[index];
+        this.size--;
+
+        // shift back any entries that probed past the removed slot so lookups never stop early
+        int gap = index;
+        int next = (gap + 1) & this.mask;
+        while (this.values[next] != null) {
+            int home = hash(this.keys[next]) & this.mask;
+            if (((next - home) & this.mask) >= ((next - gap) & this.mask)) {
+                this.keys[gap] = this.keys[next];
+                this.values[gap] = this.values[next];
+                gap = next;
+            }
+            next = (next + 1) & this.mask;
+        }
+        this.values[gap] = null;
+
+        return previous;
+    }
+
+    public void clear() {
+        Arrays.fill(this.values, null);
+        this.size = 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEach(PositionConsumer<? super V> consumer) {
+        for (int index = 0; index < this.values.length; index++) {
+            if (this.values[index] != null) {
+                consumer.accept(this.keys[index], (V) this.values[index]);
+            }
+        }
+    }
+
+    private int indexOf(long position) {
+        int index = hash(position) & this.mask;
+        while (this.values[index] != null) {
+            if (this.keys[index] == position) {
+                return index;
+            }
+            index = (index + 1) & this.mask;
+        }
+        return -1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void resize() {
+        long[] oldKeys = this.keys;
+        Object[] oldValues = this.values;
+
+        this.keys = new long[oldKeys.length * 2];
+        this.values = new Object[oldValues.length * 2];
+        this.mask = this.values.length - 1;
+        this.size = 0;
+
+        for (int index = 0; index < oldValues.length; index++) {
+            if (oldValues[index] != null) {
+                put(oldKeys[index], (V) oldValues[index]);
+            }
+        }
+    }
+
+    private static int hash(long position) {
+        long hash = position * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    public interface PositionConsumer<V> {
+        void accept(long position, V value);
+    }
+}
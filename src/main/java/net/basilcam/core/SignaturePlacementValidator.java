@@ -0,0 +1,19 @@
+package net.basilcam.core;
+
+import net.basilcam.core.tiles.Tile;
+import org.jetbrains.annotations.Nullable;
+
+// gives the same answers as PlacementValidator with one frontier lookup and one mask compare
+public enum SignaturePlacementValidator {
+    ;
+
+    public static boolean isValid(Board board, int xPosition, int yPosition, Tile tile) {
+        return isValid(board, xPosition, yPosition, tile.getEdgeSignature());
+    }
+
+    public static boolean isValid(Board board, int xPosition, int yPosition, int edgeSignature) {
+        // only empty positions abutting a tile are on the frontier
+        @Nullable FrontierSlot slot = board.getFrontierSlot(xPosition, yPosition);
+        return slot != null && slot.fits(edgeSignature);
+    }
+}
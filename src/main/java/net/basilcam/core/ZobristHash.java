@@ -0,0 +1,55 @@
+package net.basilcam.core;
+
+// an incrementally maintained 64 bit hash of part of a game. each fact about the game (a tile on a cell, a meeple on a
+// section, a score, ...) has a key, and the hash is the xor of the keys of every fact that currently holds, so
+// changing a fact toggles its old key out and its new key in. keys are derived by mixing instead of table lookups,
+// which keeps them independent of board size
+public class ZobristHash {
+    private static final long TILE_SALT = 0x6A09E667F3BCC908L;
+    private static final long MEEPLE_SALT = 0xBB67AE8584CAA73BL;
+    private static final long DECK_SALT = 0x3C6EF372FE94F82BL;
+    private static final long SCORE_SALT = 0xA54FF53A5F1D36F1L;
+    private static final long CURRENT_PLAYER_SALT = 0x510E527FADE682D1L;
+
+    private long value;
+
+    public ZobristHash() {
+        this.value = 0;
+    }
+
+    public long get() {
+        return this.value;
+    }
+
+    public void toggle(long key) {
+        this.value ^= key;
+    }
+
+    public static long tileKey(long position, int tileId, int clockWiseRotationCount) {
+        return mix(mix(TILE_SALT ^ position) + ((long) tileId << 8 | clockWiseRotationCount));
+    }
+
+    public static long meepleKey(long position, int sectionIndex, int owner) {
+        return mix(mix(MEEPLE_SALT ^ position) + ((long) sectionIndex << 8 | owner));
+    }
+
+    // the deck is a multiset, so each tile id contributes the key for how many copies are left
+    public static long deckKey(int tileId, int remainingCount) {
+        return mix(DECK_SALT + ((long) tileId << 32 | remainingCount));
+    }
+
+    public static long scoreKey(int player, int score) {
+        return mix(SCORE_SALT + ((long) player << 32 | score));
+    }
+
+    public static long currentPlayerKey(int playerIndex) {
+        return mix(CURRENT_PLAYER_SALT + playerIndex);
+    }
+
+    // the splitmix64 finalizer
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+}
@@ -3,13 +3,14 @@ package net.basilcam.core.api;
 import com.google.common.collect.ImmutableList;
 import net.basilcam.core.*;
 import net.basilcam.core.features.CompositeFeatureManager;
+import net.basilcam.core.features.Feature;
 import net.basilcam.core.tiles.Tile;
 import net.basilcam.core.tiles.TileManager;
 import net.basilcam.core.tiles.TileSection;
 import net.basilcam.gui.PlayerColor;
-import org.jetbrains.annotations.TestOnly;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -31,14 +32,15 @@ public class CarcassonneApi {
         this(new TileManager());
     }
 
-    @TestOnly
+    // a given tile manager fixes the deck, for reproducible games
     public CarcassonneApi(TileManager tileManager) {
         this.handlers = new ArrayList<>();
         this.playerManager = new PlayerManager();
         this.tileManager = tileManager;
-        this.board = new Board(this.tileManager.getStartTile());
+        this.board = new Board(this.tileManager.getStartTile(), this.tileManager.getCatalog());
+        this.tileManager.addDeckListener(this.board::updateRemainingIds);
         this.gamePhase = GamePhase.SETUP;
-        this.featureManager = new CompositeFeatureManager(this.playerManager, this.tileManager, this.board);
+        this.featureManager = new CompositeFeatureManager(this.playerManager, this.board);
         this.turnState = null;
     }
 
@@ -103,10 +105,50 @@ public class CarcassonneApi {
         this.handlers.forEach(handler -> handler.turnStarted(this.playerManager.getCurrentPlayer(), this.turnState));
     }
 
+    // a hash of the board, meeples, remaining tiles, scores and current player, kept up to date as the game is played
+    public long getHash() {
+        return this.board.getHash() ^ this.tileManager.getHash() ^ this.playerManager.getHash();
+    }
+
+    // a copy of the game at the start of the current turn, for bots to search and fork without touching this one
+    public CompactGame toCompactGame() {
+        if (this.gamePhase != GamePhase.PLAYING || this.turnState.hasPlacedTile()) {
+            throw new IllegalStateException(ErrorMessages.COMPACT_GAME_WRONG_PHASE);
+        }
+
+        return CompactGame.of(this.board,
+                this.turnState.getTile(),
+                this.tileManager.getRemainingTiles(),
+                this.playerManager.getPlayers(),
+                this.playerManager.getPlayerIndex(this.playerManager.getCurrentPlayer()));
+    }
+
+    // every feature on the board, complete or not
+    public Collection<? extends Feature> getFeatures() {
+        return this.featureManager.getFeatures();
+    }
+
     public Tile getStartTile() {
         return this.tileManager.getStartTile();
     }
 
+    public List<Placement> generateLegalPlacements(Tile tile) {
+        return PlacementGenerator.generateLegalPlacements(this.board, tile);
+    }
+
+    public void forEachLegalPlacement(Tile tile, PlacementGenerator.PlacementConsumer consumer) {
+        PlacementGenerator.forEachLegalPlacement(this.board, tile, consumer);
+    }
+
+    // each slot knows which remaining tiles fit it, see FrontierSlot.getFittingIds
+    public List<FrontierSlot> getFrontierSlots() {
+        return this.board.getFrontierSlots();
+    }
+
+    public int getDeadSlotCount() {
+        return this.board.getDeadSlotCount();
+    }
+
     public boolean placeTile(Tile tile, int xPosition, int yPosition) {
         if (this.gamePhase != GamePhase.PLAYING) {
             throw new IllegalStateException(ErrorMessages.PLACE_TILE_WRONG_PHASE);
@@ -118,7 +160,7 @@ public class CarcassonneApi {
             throw new IllegalStateException(ErrorMessages.PLACE_TILE_NOT_DRAWN_THIS_TURN);
         }
 
-        if (!PlacementValidator.isValid(this.board, xPosition, yPosition, tile)) {
+        if (!SignaturePlacementValidator.isValid(this.board, xPosition, yPosition, tile)) {
             return false;
         }
 
@@ -155,7 +197,7 @@ public class CarcassonneApi {
         }
 
         this.turnState.placedMeeple();
-        tileSection.placeMeeple(meeple.get());
+        this.board.placeMeeple(tileSection, meeple.get());
 
         return true;
     }
@@ -36,4 +36,7 @@ public enum ErrorMessages {
     public static final String SCORE_WRONG_PHASE = API_ERROR + "can only score features in playing phase";
     public static final String SCORE_NO_TILE_PLACED = API_ERROR + "can only score features after placing tile";
 
+    public static final String COMPACT_GAME_WRONG_PHASE = API_ERROR
+            + "can only copy the game at the start of a turn in playing phase";
+
 }
@@ -0,0 +1,17 @@
+package net.basilcam.core.bot;
+
+import net.basilcam.core.CompactGame;
+import net.basilcam.core.Move;
+import net.basilcam.core.api.CarcassonneApi;
+import org.jetbrains.annotations.Nullable;
+
+// a computer player. it is shown the game at the start of its turn and must leave it as it found it.
+// returns null if the current tile cannot be placed anywhere
+public interface Agent {
+    @Nullable Move chooseMove(CompactGame game);
+
+    // for a game played on the rules engine, such as one shown in the gui. the agent searches a copy of it
+    default @Nullable Move chooseMove(CarcassonneApi api) {
+        return chooseMove(api.toCompactGame());
+    }
+}
@@ -0,0 +1,51 @@
+package net.basilcam.core.bot;
+
+import net.basilcam.core.CompactGame;
+import net.basilcam.core.Move;
+import net.basilcam.core.Player;
+import net.basilcam.core.TurnState;
+import net.basilcam.core.api.CarcassonneApi;
+import net.basilcam.core.tiles.Tile;
+import org.jetbrains.annotations.Nullable;
+
+// a player of a CarcassonneApi game whose turns an agent plays, through the same api calls the gui makes for a human:
+// place the tile, maybe a meeple, then score. as for a human, whoever drives the game takes the next turn afterwards,
+// so call playTurn when CarcassonneHandler.turnStarted reports this player rather than from inside the callback
+public class AgentPlayer {
+    private final CarcassonneApi api;
+    private final Player player;
+    private final Agent agent;
+
+    public AgentPlayer(CarcassonneApi api, Player player, Agent agent) {
+        this.api = api;
+        this.player = player;
+        this.agent = agent;
+    }
+
+    public Player getPlayer() {
+        return this.player;
+    }
+
+    // returns false if the tile cannot be placed anywhere, which leaves the turn unplayed
+    public boolean playTurn(Player player, TurnState turnState) {
+        if (player != this.player) {
+            throw new IllegalArgumentException("not this agent's turn");
+        }
+
+        @Nullable Move move = this.agent.chooseMove(this.api);
+        if (move == null) {
+            return false;
+        }
+
+        Tile tile = turnState.getTile();
+        tile.rotateTo(move.getClockWiseRotationCount());
+        boolean isTilePlaced = this.api.placeTile(tile, move.getXPosition(), move.getYPosition());
+        assert isTilePlaced : "agents only choose legal moves";
+        if (move.hasMeeple()) {
+            boolean isMeeplePlaced = this.api.placeMeeple(tile, CompactGame.getTileSection(tile, move.getMeepleSection()));
+            assert isMeeplePlaced : "agents only choose legal moves";
+        }
+        this.api.scoreFeatures();
+        return true;
+    }
+}
@@ -0,0 +1,12 @@
+package net.basilcam.core.bot;
+
+import net.basilcam.core.CompactGame;
+
+// scores a game from the point of view of one player. values must lie between MIN_VALUE and MAX_VALUE, the search
+// relies on the bounds to prune chance nodes
+public interface Evaluation {
+    double MIN_VALUE = -1;
+    double MAX_VALUE = 1;
+
+    double evaluate(CompactGame game, int player);
+}
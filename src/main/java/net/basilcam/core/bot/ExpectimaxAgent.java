@@ -0,0 +1,292 @@
+package net.basilcam.core.bot;
+
+import net.basilcam.core.CompactGame;
+import net.basilcam.core.Move;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.VisibleForTesting;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// depth limited expectimax. the player to move maximises their evaluation and every opponent is assumed to minimise
+// it. a ply is one move, and after every move a chance node averages over the tiles left in the deck, weighted by
+// how many copies of each are left. chance nodes are pruned with star1, which bounds what the draws not searched yet
+// can add, and star2, which probes the first move after every draw before searching any draw fully.
+// iterative deepening keeps the best move of the deepest search that finished before the deadline.
+// the agent keeps search state in fields, so it must not choose moves for two games at once
+public class ExpectimaxAgent implements Agent {
+    public static final int DEFAULT_MAX_DEPTH = 6;
+    private static final int TIME_CHECK_INTERVAL = 1024;
+
+    private final Evaluation evaluation;
+    private final Duration budget;
+    private final int maxDepth;
+
+    private int rootPlayer;
+    private long deadline;
+    private boolean isTimedOut;
+    private long nodeCount;
+    private int completedDepth;
+    private double rootValue;
+
+    public ExpectimaxAgent(Evaluation evaluation, Duration budget) {
+        this(evaluation, budget, DEFAULT_MAX_DEPTH);
+    }
+
+    public ExpectimaxAgent(Evaluation evaluation, Duration budget, int maxDepth) {
+        assert maxDepth > 0 : "invalid depth";
+
+        this.evaluation = evaluation;
+        this.budget = budget;
+        this.maxDepth = maxDepth;
+    }
+
+    @Override
+    public @Nullable Move chooseMove(CompactGame game) {
+        CompactGame search = game.fork();
+        List<Move> moves = orderMoves(search);
+        if (moves.size() <= 1) {
+            return moves.isEmpty() ? null : moves.get(0);
+        }
+
+        startSearch(search, System.nanoTime() + this.budget.toNanos());
+        Move bestMove = moves.get(0);
+        for (int depth = 1; depth <= this.maxDepth; depth++) {
+            Move depthBestMove = searchRoot(search, moves, depth);
+            if (this.isTimedOut) {
+                break;
+            }
+            bestMove = depthBestMove;
+            this.completedDepth = depth;
+
+            // searched first at the next depth, the best move so far sets the tightest window for the others
+            moves.remove(bestMove);
+            moves.add(0, bestMove);
+
+            // one move now and one after every remaining draw reaches the end of the game
+            if (depth > search.getRemainingTileCount()) {
+                break;
+            }
+        }
+        return bestMove;
+    }
+
+    // the depth of the last search that finished in time
+    public int getCompletedDepth() {
+        return this.completedDepth;
+    }
+
+    public long getNodeCount() {
+        return this.nodeCount;
+    }
+
+    // the value of the best move searched to the given depth without a deadline
+    @VisibleForTesting
+    double getValue(CompactGame game, int depth) {
+        CompactGame search = game.fork();
+        startSearch(search, Long.MAX_VALUE);
+        searchRoot(search, orderMoves(search), depth);
+        return this.rootValue;
+    }
+
+    private void startSearch(CompactGame game, long deadline) {
+        this.rootPlayer = game.getCurrentPlayer();
+        this.deadline = deadline;
+        this.isTimedOut = false;
+        this.nodeCount = 0;
+        this.completedDepth = 0;
+    }
+
+    private Move searchRoot(CompactGame game, List<Move> moves, int depth) {
+        Move bestMove = moves.get(0);
+        double bestValue = Double.NEGATIVE_INFINITY;
+        double alpha = Evaluation.MIN_VALUE;
+        for (Move move : moves) {
+            double value = searchDraws(game, move, depth - 1, alpha, Evaluation.MAX_VALUE);
+            if (this.isTimedOut) {
+                break;
+            }
+            if (value > bestValue) {
+                bestMove = move;
+                bestValue = value;
+                alpha = Math.max(alpha, value);
+            }
+        }
+        this.rootValue = bestValue;
+        return bestMove;
+    }
+
+    // a max or min node, depending on whose turn it is. values are fail soft: a value at or below alpha is an upper
+    // bound and one at or above beta a lower bound. a probe searches only the first move
+    private double searchMoves(CompactGame game, int depth, double alpha, double beta, boolean isProbe) {
+        countNode();
+        if (this.isTimedOut) {
+            return 0;
+        }
+        if (depth == 0 || game.isEnded()) {
+            return this.evaluation.evaluate(game, this.rootPlayer);
+        }
+
+        List<Move> moves = orderMoves(game);
+        if (moves.isEmpty()) {
+            // the tile fits nowhere, so the game cannot go on
+            return this.evaluation.evaluate(game, this.rootPlayer);
+        }
+
+        boolean isMax = game.getCurrentPlayer() == this.rootPlayer;
+        double bestValue = isMax ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        for (Move move : moves) {
+            double value = searchDraws(game, move, depth - 1, alpha, beta);
+            if (isMax) {
+                bestValue = Math.max(bestValue, value);
+                alpha = Math.max(alpha, value);
+            } else {
+                bestValue = Math.min(bestValue, value);
+                beta = Math.min(beta, value);
+            }
+            if (alpha >= beta || isProbe || this.isTimedOut) {
+                break;
+            }
+        }
+        return bestValue;
+    }
+
+    // the chance node after a move
+    private double searchDraws(CompactGame game, Move move, int depth, double alpha, double beta) {
+        int remainingTileCount = game.getRemainingTileCount();
+        if (depth == 0 || remainingTileCount == 0) {
+            // the evaluation does not look at the drawn tile, and with no tiles left the move ends the game
+            apply(game, move);
+            double value = searchMoves(game, depth, alpha, beta, false);
+            game.undo();
+            return value;
+        }
+
+        int[] counts = new int[game.getDefinitionCount()];
+        game.countRemainingTiles(counts);
+        int drawCount = 0;
+        int[] draws = new int[counts.length];
+        double[] probabilities = new double[counts.length];
+        double[] lowerBounds = new double[counts.length];
+        double[] upperBounds = new double[counts.length];
+        for (int definition = 0; definition < counts.length; definition++) {
+            if (counts[definition] > 0) {
+                draws[drawCount] = definition;
+                probabilities[drawCount] = (double) counts[definition] / remainingTileCount;
+                lowerBounds[drawCount] = Evaluation.MIN_VALUE;
+                upperBounds[drawCount] = Evaluation.MAX_VALUE;
+                drawCount++;
+            }
+        }
+        // the probabilities add up to one
+        double lowerSum = Evaluation.MIN_VALUE;
+        double upperSum = Evaluation.MAX_VALUE;
+
+        // star2: after a draw the first move alone bounds the node from the side of whoever moves
+        boolean isMaxNext = (game.getCurrentPlayer() + 1) % game.getPlayerCount() == this.rootPlayer;
+        for (int draw = 0; draw < drawCount; draw++) {
+            double probability = probabilities[draw];
+            double childAlpha = Math.max(Evaluation.MIN_VALUE,
+                    (alpha - (upperSum - probability * upperBounds[draw])) / probability);
+            double childBeta = Math.min(Evaluation.MAX_VALUE,
+                    (beta - (lowerSum - probability * lowerBounds[draw])) / probability);
+            double value = searchDraw(game, move, draws[draw], depth, childAlpha, childBeta, true);
+            if (this.isTimedOut) {
+                return 0;
+            }
+
+            if (isMaxNext && value > childAlpha && value > lowerBounds[draw]) {
+                lowerSum += probability * (value - lowerBounds[draw]);
+                lowerBounds[draw] = value;
+            } else if (!isMaxNext && value < childBeta && value < upperBounds[draw]) {
+                upperSum += probability * (value - upperBounds[draw]);
+                upperBounds[draw] = value;
+            }
+            if (lowerSum >= beta) {
+                return lowerSum;
+            }
+            if (upperSum <= alpha) {
+                return upperSum;
+            }
+        }
+
+        // star1: search every draw fully, narrowing its window by the bounds of the others
+        for (int draw = 0; draw < drawCount; draw++) {
+            double probability = probabilities[draw];
+            double childAlpha = Math.max(Evaluation.MIN_VALUE,
+                    (alpha - (upperSum - probability * upperBounds[draw])) / probability);
+            double childBeta = Math.min(Evaluation.MAX_VALUE,
+                    (beta - (lowerSum - probability * lowerBounds[draw])) / probability);
+            double value = searchDraw(game, move, draws[draw], depth, childAlpha, childBeta, false);
+            if (this.isTimedOut) {
+                return 0;
+            }
+
+            if (value > childAlpha && value > lowerBounds[draw]) {
+                lowerSum += probability * (value - lowerBounds[draw]);
+                lowerBounds[draw] = value;
+            }
+            if (value < childBeta && value < upperBounds[draw]) {
+                upperSum += probability * (value - upperBounds[draw]);
+                upperBounds[draw] = value;
+            }
+            if (lowerSum >= beta) {
+                return lowerSum;
+            }
+            if (upperSum <= alpha) {
+                return upperSum;
+            }
+        }
+        return lowerSum;
+    }
+
+    private double searchDraw(CompactGame game, Move move, int definition, int depth,
+                              double alpha, double beta, boolean isProbe) {
+        game.setNextTile(definition);
+        apply(game, move);
+        double value = searchMoves(game, depth, alpha, beta, isProbe);
+        game.undo();
+        return value;
+    }
+
+    // moves that complete features come first: the more the mover gains over the others right away, the earlier.
+    // among equal moves the ones placing a meeple come first, since they can only pay off later
+    private List<Move> orderMoves(CompactGame game) {
+        List<Move> moves = game.generateLegalMoves();
+        int mover = game.getCurrentPlayer();
+        int[] scores = new int[game.getPlayerCount()];
+        for (int player = 0; player < scores.length; player++) {
+            scores[player] = game.getScore(player);
+        }
+
+        Map<Move, Integer> gains = new HashMap<>();
+        for (Move move : moves) {
+            apply(game, move);
+            int gain = 0;
+            for (int player = 0; player < scores.length; player++) {
+                int points = game.getScore(player) - scores[player];
+                gain += player == mover ? points : -points;
+            }
+            game.undo();
+            gains.put(move, gain);
+        }
+
+        moves.sort(Comparator.<Move>comparingInt(gains::get).reversed()
+                .thenComparing(move -> !move.hasMeeple()));
+        return moves;
+    }
+
+    private void countNode() {
+        if (++this.nodeCount % TIME_CHECK_INTERVAL == 0 && System.nanoTime() > this.deadline) {
+            this.isTimedOut = true;
+        }
+    }
+
+    private static void apply(CompactGame game, Move move) {
+        boolean isApplied = game.apply(move);
+        assert isApplied : "legal move was rejected";
+    }
+}
@@ -0,0 +1,282 @@
+package net.basilcam.core.bot;
+
+import net.basilcam.core.CompactGame;
+import net.basilcam.core.Move;
+import net.basilcam.core.PlacementGenerator;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// monte carlo tree search with every worker of a fork-join pool sharing one tree (tree parallelism).
+// the order of the deck is hidden, so every iteration searches a copy of the game with the undrawn tiles shuffled.
+// a node is reached by a sequence of moves whatever tiles were drawn in between, so its children are the moves seen
+// so far and only the ones legal for the tile drawn this iteration take part in selection
+public class MctsAgent implements Agent {
+    private static final double EXPLORATION = Math.sqrt(2);
+    private static final int MEEPLE_CHANCE_PERCENT = 50;
+
+    private final Duration budget;
+    private final ForkJoinPool pool;
+    private final AtomicLong rolloutCount;
+
+    public MctsAgent(Duration budget) {
+        this(budget, ForkJoinPool.commonPool());
+    }
+
+    public MctsAgent(Duration budget, ForkJoinPool pool) {
+        this.budget = budget;
+        this.pool = pool;
+        this.rolloutCount = new AtomicLong();
+    }
+
+    @Override
+    public @Nullable Move chooseMove(CompactGame game) {
+        List<Move> moves = game.generateLegalMoves();
+        if (moves.size() <= 1) {
+            return moves.isEmpty() ? null : moves.get(0);
+        }
+
+        Node root = new Node(Node.NO_PLAYER);
+        long deadline = System.nanoTime() + this.budget.toNanos();
+        List<ForkJoinTask<?>> workers = new ArrayList<>();
+        for (int worker = 0; worker < this.pool.getParallelism(); worker++) {
+            workers.add(this.pool.submit(() -> search(root, game.fork(), deadline)));
+        }
+        workers.forEach(ForkJoinTask::join);
+
+        // the most visited move is the one the search trusted most
+        Move bestMove = moves.get(0);
+        int bestVisits = -1;
+        for (Move move : moves) {
+            @Nullable Node child = root.getChild(move);
+            int visits = child == null ? 0 : child.getVisits();
+            if (visits > bestVisits) {
+                bestMove = move;
+                bestVisits = visits;
+            }
+        }
+        return bestMove;
+    }
+
+    // the rollouts played by every search so far
+    public long getRolloutCount() {
+        return this.rolloutCount.get();
+    }
+
+    private void search(Node root, CompactGame game, long deadline) {
+        Random random = ThreadLocalRandom.current();
+        Rollout rollout = new Rollout(random);
+        double[] rewards = new double[game.getPlayerCount()];
+        List<Node> path = new ArrayList<>();
+
+        do {
+            CompactGame determinization = game.fork();
+            determinization.shuffleRemainingTiles(random);
+            path.clear();
+            path.add(root);
+
+            Node node = root;
+            boolean isExpanded = false;
+            while (!isExpanded && !determinization.isEnded()) {
+                List<Move> moves = determinization.generateLegalMoves();
+                if (moves.isEmpty()) {
+                    break;
+                }
+
+                NodeChoice choice = node.select(moves, determinization.getCurrentPlayer());
+                play(determinization, choice.move);
+                node = choice.node;
+                isExpanded = choice.isNew;
+                path.add(node);
+            }
+
+            rollout.play(determinization);
+            this.rolloutCount.incrementAndGet();
+            computeRewards(determinization, rewards);
+            for (Node visited : path) {
+                visited.addReward(rewards);
+            }
+        } while (System.nanoTime() < deadline);
+    }
+
+    // like CompactGame.apply, but without recording the move, since the determinization is thrown away afterwards
+    private static void play(CompactGame game, Move move) {
+        boolean isPlaced = game.placeTile(move.getXPosition(), move.getYPosition(), move.getClockWiseRotationCount());
+        assert isPlaced : "legal placement was rejected";
+        if (move.hasMeeple()) {
+            boolean isMeeplePlaced = game.placeMeeple(move.getMeepleSection());
+            assert isMeeplePlaced : "legal meeple was rejected";
+        }
+        game.scoreFeatures();
+        game.nextTurn();
+    }
+
+    // a share of the win for every player tied for the best score
+    private static void computeRewards(CompactGame game, double[] rewards) {
+        int bestScore = Integer.MIN_VALUE;
+        int ties = 0;
+        for (int player = 0; player < game.getPlayerCount(); player++) {
+            int score = game.getScore(player);
+            if (score > bestScore) {
+                bestScore = score;
+                ties = 1;
+            } else if (score == bestScore) {
+                ties++;
+            }
+        }
+        for (int player = 0; player < game.getPlayerCount(); player++) {
+            rewards[player] = game.getScore(player) == bestScore ? 1.0 / ties : 0;
+        }
+    }
+
+    // the node counts as visited from the moment it is selected, and its reward arrives when the rollout is done.
+    // until then the visit without reward is a virtual loss that steers other workers to other moves
+    private static class Node {
+        private static final int NO_PLAYER = -1;
+
+        private final int player;
+        private final Map<Move, Node> children;
+        private int visits;
+        private double reward;
+
+        // player is the one whose move led to this node, the reward is theirs
+        Node(int player) {
+            this.player = player;
+            this.children = new HashMap<>();
+            this.visits = 0;
+            this.reward = 0;
+        }
+
+        synchronized int getVisits() {
+            return this.visits;
+        }
+
+        synchronized @Nullable Node getChild(Move move) {
+            return this.children.get(move);
+        }
+
+        synchronized NodeChoice select(List<Move> moves, int player) {
+            for (Move move : moves) {
+                if (!this.children.containsKey(move)) {
+                    Node child = new Node(player);
+                    child.visits++;
+                    this.children.put(move, child);
+                    return new NodeChoice(move, child, true);
+                }
+            }
+
+            // only children legal for this iteration's tile compete, so count visits among those
+            int totalVisits = 0;
+            for (Move move : moves) {
+                totalVisits += this.children.get(move).getVisits();
+            }
+            double logVisits = Math.log(totalVisits);
+
+            Move bestMove = null;
+            Node bestChild = null;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (Move move : moves) {
+                Node child = this.children.get(move);
+                double value = child.getValue(logVisits);
+                if (value > bestValue) {
+                    bestMove = move;
+                    bestChild = child;
+                    bestValue = value;
+                }
+            }
+            bestChild.addVirtualLoss();
+            return new NodeChoice(bestMove, bestChild, false);
+        }
+
+        // the average reward with the upper confidence bound for exploration
+        synchronized double getValue(double logParentVisits) {
+            return this.reward / this.visits + EXPLORATION * Math.sqrt(logParentVisits / this.visits);
+        }
+
+        synchronized void addVirtualLoss() {
+            this.visits++;
+        }
+
+        synchronized void addReward(double[] rewards) {
+            if (this.player == NO_PLAYER) {
+                return;
+            }
+            this.reward += rewards[this.player];
+        }
+    }
+
+    private static class NodeChoice {
+        private final Move move;
+        private final Node node;
+        private final boolean isNew;
+
+        NodeChoice(Move move, Node node, boolean isNew) {
+            this.move = move;
+            this.node = node;
+            this.isNew = isNew;
+        }
+    }
+
+    // plays random placements to the end of the game, placing a meeple on a random section every so often. a tile that
+    // fits nowhere is discarded and the next one drawn, as in the rules
+    static class Rollout implements PlacementGenerator.PlacementConsumer {
+        private final Random random;
+        private final int[] meepleSections;
+        private int placementCount;
+        private int xPosition;
+        private int yPosition;
+        private int clockWiseRotationCount;
+
+        Rollout(Random random) {
+            this.random = random;
+            this.meepleSections = new int[CompactGame.SECTIONS_PER_CELL];
+        }
+
+        void play(CompactGame game) {
+            while (!game.isEnded()) {
+                this.placementCount = 0;
+                game.forEachLegalPlacement(this);
+                if (this.placementCount == 0) {
+                    game.discardTile();
+                    continue;
+                }
+                game.placeTile(this.xPosition, this.yPosition, this.clockWiseRotationCount);
+
+                if (this.random.nextInt(100) < MEEPLE_CHANCE_PERCENT) {
+                    int sectionCount = 0;
+                    for (int section = 0; section < CompactGame.SECTIONS_PER_CELL; section++) {
+                        if (game.canPlaceMeeple(section)) {
+                            this.meepleSections[sectionCount++] = section;
+                        }
+                    }
+                    if (sectionCount > 0) {
+                        game.placeMeeple(this.meepleSections[this.random.nextInt(sectionCount)]);
+                    }
+                }
+
+                game.scoreFeatures();
+                game.nextTurn();
+            }
+        }
+
+        // reservoir sampling, so the placements need not be collected
+        @Override
+        public void accept(int xPosition, int yPosition, int clockWiseRotationCount) {
+            this.placementCount++;
+            if (this.random.nextInt(this.placementCount) == 0) {
+                this.xPosition = xPosition;
+                this.yPosition = yPosition;
+                this.clockWiseRotationCount = clockWiseRotationCount;
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package net.basilcam.core.bot;
+
+import net.basilcam.core.CompactGame;
+import net.basilcam.core.Move;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.Random;
+
+// plays any legal move, as a baseline for other agents
+public class RandomAgent implements Agent {
+    private final Random random;
+
+    public RandomAgent(Random random) {
+        this.random = random;
+    }
+
+    @Override
+    public @Nullable Move chooseMove(CompactGame game) {
+        List<Move> moves = game.generateLegalMoves();
+        return moves.isEmpty() ? null : moves.get(this.random.nextInt(moves.size()));
+    }
+}
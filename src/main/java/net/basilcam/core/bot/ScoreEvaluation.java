@@ -0,0 +1,28 @@
+package net.basilcam.core.bot;
+
+import net.basilcam.core.CompactGame;
+import net.basilcam.core.Player;
+
+// the lead over the best opponent, counting every meeple on the board as a few points it is likely to score
+public class ScoreEvaluation implements Evaluation {
+    private static final int POINTS_PER_PLACED_MEEPLE = 2;
+    private static final double MAX_LEAD = 100;
+
+    @Override
+    public double evaluate(CompactGame game, int player) {
+        int bestOpponentPoints = Integer.MIN_VALUE;
+        for (int opponent = 0; opponent < game.getPlayerCount(); opponent++) {
+            if (opponent != player) {
+                bestOpponentPoints = Math.max(bestOpponentPoints, getPoints(game, opponent));
+            }
+        }
+
+        double lead = (getPoints(game, player) - bestOpponentPoints) / MAX_LEAD;
+        return Math.max(MIN_VALUE, Math.min(MAX_VALUE, lead));
+    }
+
+    private static int getPoints(CompactGame game, int player) {
+        int placedMeeples = Player.MEEPLE_PER_PLAYER - game.getMeeplesLeft(player);
+        return game.getScore(player) + POINTS_PER_PLACED_MEEPLE * placedMeeples;
+    }
+}
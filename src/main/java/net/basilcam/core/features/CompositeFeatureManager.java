@@ -4,7 +4,6 @@ import com.google.common.collect.Lists;
 import net.basilcam.core.Board;
 import net.basilcam.core.PlayerManager;
 import net.basilcam.core.tiles.Tile;
-import net.basilcam.core.tiles.TileManager;
 import net.basilcam.core.tiles.TileSection;
 import net.basilcam.core.tiles.TileSectionType;
 
@@ -13,9 +12,9 @@ import java.util.*;
 public class CompositeFeatureManager implements FeatureManager {
     private final List<FeatureManager> featureManagers;
 
-    public CompositeFeatureManager(PlayerManager playerManager, TileManager tileManager, Board board) {
+    public CompositeFeatureManager(PlayerManager playerManager, Board board) {
         this.featureManagers = Lists.newArrayList(
-                new GraphFeatureManager(playerManager, tileManager, board),
+                new GraphFeatureManager(playerManager, board),
                 new MonasteryFeatureManager(playerManager, board));
     }
 
@@ -54,6 +53,13 @@ public class CompositeFeatureManager implements FeatureManager {
             }
         }
 
+        // a feature that already holds a meeple cannot be claimed again
+        for (FeatureManager featureManager : this.featureManagers) {
+            if (!featureManager.canPlaceMeeple(tile, section)) {
+                return false;
+            }
+        }
+
         return true;
     }
 
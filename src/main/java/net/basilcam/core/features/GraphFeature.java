@@ -1,14 +1,14 @@
 package net.basilcam.core.features;
 
-import com.google.common.collect.HashMultimap;
-import com.google.common.collect.Multimap;
+import net.basilcam.core.Board;
 import net.basilcam.core.Meeple;
 import net.basilcam.core.Player;
 import net.basilcam.core.PlayerManager;
+import net.basilcam.core.api.CarcassonneApi;
 import net.basilcam.core.tiles.Tile;
-import net.basilcam.core.tiles.TileManager;
 import net.basilcam.core.tiles.TileSection;
 import net.basilcam.core.tiles.TileSectionType;
+import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.VisibleForTesting;
 
 import java.util.*;
@@ -18,27 +18,54 @@ public class GraphFeature implements Feature {
     @VisibleForTesting public static final int CITY_POINTS_PER_TILE = 2;
     @VisibleForTesting public static final int COAT_OF_ARMS_POINTS_PER_TILE = 2;
     private final PlayerManager playerManager;
-    private final TileManager tileManager;
-    private final Map<TileSection, GraphFeatureNode> featureNodes;
+    private final Board board;
     private final TileSectionType type;
     private boolean hasBeenScored;
 
-    public GraphFeature(PlayerManager playerManager, TileManager tileManager, TileSectionType type) {
+    // disjoint set forest, a feature that has been merged into another only forwards to its parent
+    private GraphFeature parent;
+    private int size;
+    private GraphFeatureNode firstNode;
+    private GraphFeatureNode lastNode;
+    private int openConnectionCount;
+
+    // meeples on the feature, indexed by the owner's position in PlayerManager
+    private final int[] meepleCounts;
+    private int meepleCount;
+    private final List<GraphFeatureNode> meepleNodes;
+
+    // distinct tiles on the feature. a tile with two separate segments of this type (e.g. the crossroads) could
+    // be counted by two features that later merge, so those tiles are remembered to subtract the overlap
+    private int tileCount;
+    private int coatOfArmsCount;
+    private @Nullable Set<Tile> splitTiles;
+
+    public GraphFeature(PlayerManager playerManager, Board board, TileSectionType type) {
         this.playerManager = playerManager;
-        this.tileManager = tileManager;
-        this.featureNodes = new HashMap<>();
+        this.board = board;
         this.type = type;
         this.hasBeenScored = false;
+        this.parent = this;
+        this.size = 0;
+        this.firstNode = null;
+        this.lastNode = null;
+        this.openConnectionCount = 0;
+        this.meepleCounts = new int[CarcassonneApi.MAX_PLAYERS];
+        this.meepleCount = 0;
+        this.meepleNodes = new ArrayList<>(1);
+        this.tileCount = 0;
+        this.coatOfArmsCount = 0;
+        this.splitTiles = null;
     }
 
     @Override
     public boolean isComplete() {
-        for (GraphFeatureNode node : this.featureNodes.values()) {
-            if (node.hasOpenConnection()) {
-                return false;
-            }
-        }
-        return true;
+        assert isRoot() : "only a root feature tracks open connections";
+        return this.openConnectionCount == 0;
+    }
+
+    public int getOpenConnectionCount() {
+        return this.openConnectionCount;
     }
 
     @Override
@@ -48,86 +75,211 @@ public class GraphFeature implements Feature {
 
     @Override
     public void score() {
-        // todo: pretty inefficient, refactor to simplify
-
         if (!isComplete() || this.hasBeenScored) {
             return;
         }
 
         this.hasBeenScored = true;
 
-        Set<Tile> tiles = new HashSet<>();
-        Multimap<Player, Meeple> meeples = HashMultimap.create();
-        for (TileSection tileSection : this.featureNodes.keySet()) {
-            if (tileSection.getMeeple().isPresent()) {
-                Meeple meeple = tileSection.getMeeple().get();
-                Player owner = this.playerManager.getMeepleOwner(meeple);
-                meeples.put(owner, meeple);
+        int score = currentValue();
 
-                tileSection.removeMeeple();
+        int maxMeepleCount = 0;
+        int playersWithMaxMeepleCount = 0;
+        for (int meepleCount : this.meepleCounts) {
+            if (meepleCount > maxMeepleCount) {
+                maxMeepleCount = meepleCount;
+                playersWithMaxMeepleCount = 1;
+            } else if (meepleCount == maxMeepleCount) {
+                playersWithMaxMeepleCount++;
             }
-            Tile tile = tileManager.getTileFromSection(tileSection);
-            tiles.add(tile);
         }
 
-        int score = this.type == TileSectionType.CITY
-                ? tiles.size() * CITY_POINTS_PER_TILE + (int) tiles.stream().filter(Tile::hasCoatOfArms).count() * CITY_POINTS_PER_TILE
-                : tiles.size() * ROAD_POINTS_PER_TILE;
+        if (maxMeepleCount > 0) {
+            int scorePerPlayer = score / playersWithMaxMeepleCount;
+            for (int playerIndex = 0; playerIndex < this.meepleCounts.length; playerIndex++) {
+                if (this.meepleCounts[playerIndex] == maxMeepleCount) {
+                    this.playerManager.getPlayer(playerIndex).addScore(scorePerPlayer);
+                }
+            }
+        }
 
-        int maxMeepleCount = 0;
-        List<Player> playersWithMaxMeepleCount = new ArrayList<>();
-        for (Map.Entry<Player, Collection<Meeple>> entry : meeples.asMap().entrySet()) {
-            if (entry.getValue().size() > maxMeepleCount) {
-                maxMeepleCount = entry.getValue().size();
-                playersWithMaxMeepleCount.clear();
-                playersWithMaxMeepleCount.add(entry.getKey());
-            } else if (entry.getValue().size() == maxMeepleCount) {
-                playersWithMaxMeepleCount.add(entry.getKey());
+        // removing a meeple calls back into meepleRemoved, which shrinks the list
+        while (!this.meepleNodes.isEmpty()) {
+            this.board.removeMeeple(this.meepleNodes.get(this.meepleNodes.size() - 1).getTileSection());
+        }
+    }
+
+    // the points this feature is worth if it were completed as it stands
+    public int currentValue() {
+        return this.type == TileSectionType.CITY
+                ? this.tileCount * CITY_POINTS_PER_TILE + this.coatOfArmsCount * COAT_OF_ARMS_POINTS_PER_TILE
+                : this.tileCount * ROAD_POINTS_PER_TILE;
+    }
+
+    public int getTileCount() {
+        return this.tileCount;
+    }
+
+    public int getCoatOfArmsCount() {
+        return this.coatOfArmsCount;
+    }
+
+    // called once per placement for each distinct feature the placed tile ended up in
+    void addTile(Tile tile, boolean isSplitTile) {
+        assert isRoot() : "tiles can only be added to a root feature";
+
+        if (isSplitTile) {
+            if (this.splitTiles == null) {
+                this.splitTiles = new HashSet<>();
+            }
+            if (!this.splitTiles.add(tile)) {
+                return;
             }
         }
 
-        int scorePerPlayer = 0;
-        if (!playersWithMaxMeepleCount.isEmpty()) {
-            scorePerPlayer = score / playersWithMaxMeepleCount.size();
+        this.tileCount++;
+        if (tile.hasCoatOfArms()) {
+            this.coatOfArmsCount++;
         }
+    }
 
-        for (Player player : playersWithMaxMeepleCount) {
-            player.addScore(scorePerPlayer);
+    public GraphFeature find() {
+        GraphFeature feature = this;
+        while (feature.parent != feature) {
+            feature.parent = feature.parent.parent;
+            feature = feature.parent;
         }
+        return feature;
     }
 
-    public void addNode(GraphFeatureNode node) {
-        this.featureNodes.put(node.getTileSection(), node);
+    public boolean isRoot() {
+        return this.parent == this;
     }
 
-    public GraphFeatureNode getNode(TileSection tileSection) {
-        return this.featureNodes.get(tileSection);
+    public int size() {
+        return this.size;
+    }
+
+    public void addNode(GraphFeatureNode node) {
+        assert isRoot() : "nodes can only be added to a root feature";
+
+        node.setFeature(this);
+        if (this.lastNode == null) {
+            this.firstNode = node;
+        } else {
+            this.lastNode.setNextNode(node);
+        }
+        this.lastNode = node;
+        this.size++;
+        this.openConnectionCount += node.getOpenConnectionCount();
+
+        Optional<Meeple> meeple = node.getTileSection().getMeeple();
+        if (meeple.isPresent()) {
+            meeplePlaced(node, meeple.get());
+        }
     }
 
     public Collection<TileSection> getTileSections() {
-        return this.featureNodes.keySet();
+        List<TileSection> tileSections = new ArrayList<>(this.size);
+        for (GraphFeatureNode node = this.firstNode; node != null; node = node.getNextNode()) {
+            tileSections.add(node.getTileSection());
+        }
+        return tileSections;
     }
 
-    public void merge(Collection<? extends GraphFeature> graphFeatures) {
-        for (GraphFeature feature : graphFeatures) {
-            this.featureNodes.putAll(feature.featureNodes);
+    // links another root under this one, the node lists are spliced together so this is constant time
+    void absorb(GraphFeature feature) {
+        assert isRoot() && feature.isRoot() && feature != this : "can only absorb another root feature";
+        assert feature.type == this.type : "can not merge features of different types";
+
+        feature.parent = this;
+        this.size += feature.size;
+        this.openConnectionCount += feature.openConnectionCount;
+        for (int playerIndex = 0; playerIndex < this.meepleCounts.length; playerIndex++) {
+            this.meepleCounts[playerIndex] += feature.meepleCounts[playerIndex];
+        }
+        this.meepleCount += feature.meepleCount;
+        this.meepleNodes.addAll(feature.meepleNodes);
+        feature.meepleNodes.clear();
+        absorbTileCounts(feature);
+        if (feature.firstNode != null) {
+            if (this.lastNode == null) {
+                this.firstNode = feature.firstNode;
+            } else {
+                this.lastNode.setNextNode(feature.firstNode);
+            }
+            this.lastNode = feature.lastNode;
         }
+        feature.firstNode = null;
+        feature.lastNode = null;
     }
 
-    public boolean canPlaceMeeple() {
-        for (TileSection otherTileSection : this.featureNodes.keySet()) {
-            if (otherTileSection.getMeeple().isPresent()) {
-                return false;
+    void connectionClosed() {
+        assert this.openConnectionCount > 0 : "no open connection to close";
+        this.openConnectionCount--;
+    }
+
+    private void absorbTileCounts(GraphFeature feature) {
+        this.tileCount += feature.tileCount;
+        this.coatOfArmsCount += feature.coatOfArmsCount;
+
+        if (feature.splitTiles == null) {
+            return;
+        }
+        if (this.splitTiles == null) {
+            this.splitTiles = feature.splitTiles;
+            feature.splitTiles = null;
+            return;
+        }
+
+        Set<Tile> smaller = this.splitTiles.size() < feature.splitTiles.size() ? this.splitTiles : feature.splitTiles;
+        Set<Tile> larger = smaller == this.splitTiles ? feature.splitTiles : this.splitTiles;
+        for (Tile tile : smaller) {
+            if (!larger.add(tile)) {
+                this.tileCount--;
+                if (tile.hasCoatOfArms()) {
+                    this.coatOfArmsCount--;
+                }
             }
         }
+        this.splitTiles = larger;
+        feature.splitTiles = null;
+    }
+
+    void meeplePlaced(GraphFeatureNode node, Meeple meeple) {
+        this.meepleCounts[getOwnerIndex(meeple)]++;
+        this.meepleCount++;
+        this.meepleNodes.add(node);
+    }
+
+    void meepleRemoved(GraphFeatureNode node, Meeple meeple) {
+        this.meepleCounts[getOwnerIndex(meeple)]--;
+        this.meepleCount--;
+        this.meepleNodes.remove(node);
+    }
+
+    public int getMeepleCount() {
+        return this.meepleCount;
+    }
+
+    public int getMeepleCount(Player player) {
+        return this.meepleCounts[this.playerManager.getPlayerIndex(player)];
+    }
+
+    public boolean canPlaceMeeple() {
+        return this.meepleCount == 0;
+    }
 
-        return true;
+    private int getOwnerIndex(Meeple meeple) {
+        Player owner = this.playerManager.getMeepleOwner(meeple);
+        assert owner != null : "meeple has no owner";
+        return this.playerManager.getPlayerIndex(owner);
     }
 
     @Override
     public String toString() {
         return "GraphFeature{" +
-                "featureNodes=" + featureNodes +
+                "size=" + size +
                 ", type=" + type +
                 '}';
     }
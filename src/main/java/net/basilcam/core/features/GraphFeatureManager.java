@@ -1,11 +1,13 @@
 package net.basilcam.core.features;
 
+import com.google.common.collect.ImmutableList;
 import net.basilcam.core.Board;
 import net.basilcam.core.Direction;
 import net.basilcam.core.PlayerManager;
 import net.basilcam.core.tiles.Tile;
-import net.basilcam.core.tiles.TileManager;
+import net.basilcam.core.tiles.TileDefinition;
 import net.basilcam.core.tiles.TileSection;
+import net.basilcam.core.tiles.TileSectionLocation;
 import net.basilcam.core.tiles.TileSectionType;
 import org.jetbrains.annotations.Nullable;
 
@@ -13,15 +15,20 @@ import java.util.*;
 
 public class GraphFeatureManager implements FeatureManager {
     private final PlayerManager playerManager;
-    private final TileManager tileManager;
     private final Board board;
-    private final Map<TileSection, GraphFeature> tileSectionToFeature;
+    private final Map<TileSection, GraphFeatureNode> tileSectionToNode;
+    private final Set<GraphFeature> features;
+    private final Set<GraphFeature> touchedFeatures;
 
-    GraphFeatureManager(PlayerManager playerManager, TileManager tileManager, Board board) {
+    private final GraphFeature[] placedTileFeatures;
+
+    GraphFeatureManager(PlayerManager playerManager, Board board) {
         this.playerManager = playerManager;
-        this.tileManager = tileManager;
         this.board = board;
-        this.tileSectionToFeature = new HashMap<>();
+        this.tileSectionToNode = new HashMap<>();
+        this.features = new LinkedHashSet<>();
+        this.touchedFeatures = new LinkedHashSet<>();
+        this.placedTileFeatures = new GraphFeature[TileSectionLocation.values().length + 1];
 
         this.board.forEachTile(this::updateFeatures);
     }
@@ -33,11 +40,34 @@ public class GraphFeatureManager implements FeatureManager {
         updateFeaturesForEdges(tile, xPosition, yPosition, Direction.DOWN);
         updateFeaturesForEdges(tile, xPosition, yPosition, Direction.RIGHT);
         updateFeaturesForCenter(tile);
+
+        int featureCount = 0;
+        for (Direction direction : Direction.values()) {
+            featureCount = addPlacedTileFeature(tile.getSection(direction), featureCount);
+        }
+        for (TileSection centerSection : tile.getCenterSections()) {
+            featureCount = addPlacedTileFeature(centerSection, featureCount);
+        }
+
+        for (int index = 0; index < featureCount; index++) {
+            GraphFeature feature = this.placedTileFeatures[index];
+            feature.addTile(tile, tile.getDefinition().isSplit(feature.getType()));
+            this.touchedFeatures.add(feature);
+            this.placedTileFeatures[index] = null;
+        }
     }
 
     @Override
     public Collection<GraphFeature> getFeatures() {
-        return Set.copyOf(this.tileSectionToFeature.values());
+        return Set.copyOf(this.features);
+    }
+
+    public @Nullable GraphFeature getFeature(TileSection tileSection) {
+        @Nullable GraphFeatureNode node = this.tileSectionToNode.get(tileSection);
+        if (node == null) {
+            return null;
+        }
+        return node.getFeature().find();
     }
 
     @Override
@@ -46,7 +76,7 @@ public class GraphFeatureManager implements FeatureManager {
             return true;
         }
 
-        @Nullable GraphFeature feature = this.tileSectionToFeature.get(section);
+        @Nullable GraphFeature feature = getFeature(section);
         if (feature == null) {
             return true;
         }
@@ -55,8 +85,26 @@ public class GraphFeatureManager implements FeatureManager {
 
     @Override
     public void scoreFeatures() {
-        // todo: very inefficient
-        new HashSet<>(this.tileSectionToFeature.values()).forEach(GraphFeature::score);
+        // only a feature that gained a section since the last scoring can have been completed
+        for (GraphFeature feature : this.touchedFeatures) {
+            feature.find().score();
+        }
+        this.touchedFeatures.clear();
+    }
+
+    // collects the distinct features the placed tile ended up in, without allocating
+    private int addPlacedTileFeature(TileSection tileSection, int featureCount) {
+        @Nullable GraphFeature feature = getFeature(tileSection);
+        if (feature == null) {
+            return featureCount;
+        }
+        for (int index = 0; index < featureCount; index++) {
+            if (this.placedTileFeatures[index] == feature) {
+                return featureCount;
+            }
+        }
+        this.placedTileFeatures[featureCount] = feature;
+        return featureCount + 1;
     }
 
     private void updateFeaturesForEdges(Tile tile, int xPosition, int yPosition, Direction direction) {
@@ -71,103 +119,103 @@ public class GraphFeatureManager implements FeatureManager {
             newNode.closeNode(closedDirections);
         }
 
-        Optional<Tile> abuttingTile = this.board.getAbuttingTile(xPosition, yPosition, direction);
-        if (abuttingTile.isPresent()) {
-            TileSection abuttingSection = abuttingTile.get().getSection(direction.oppositeDirection());
+        @Nullable Tile abuttingTile = this.board.getAbuttingTileOrNull(xPosition, yPosition, direction);
+        if (abuttingTile != null) {
+            TileSection abuttingSection = abuttingTile.getSection(direction.oppositeDirection());
             assert abuttingSection.getType() == tileSection.getType() : "tile placement is invalid";
 
-            GraphFeature abuttingFeature = this.tileSectionToFeature.get(abuttingSection);
-            assert abuttingFeature != null : "no feature found for section";
+            GraphFeatureNode abuttingNode = this.tileSectionToNode.get(abuttingSection);
+            assert abuttingNode != null : "no feature found for section";
 
-            connectAbuttingNode(abuttingFeature, newNode, abuttingSection, direction.oppositeDirection());
-            this.tileSectionToFeature.put(tileSection, abuttingFeature);
+            abuttingNode.getFeature().find().addNode(newNode);
+            connectNodes(abuttingNode, newNode, direction.oppositeDirection());
         } else {
-            GraphFeature feature = new GraphFeature(playerManager, tileManager, tileSection.getType());
+            GraphFeature feature = new GraphFeature(this.playerManager, this.board, tileSection.getType());
             feature.addNode(newNode);
-            this.tileSectionToFeature.put(tileSection, feature);
+            this.features.add(feature);
         }
+        this.tileSectionToNode.put(tileSection, newNode);
+        tileSection.setMeepleListener(newNode);
     }
 
+    // the edges each center joins come from the definition's connectivity table, nothing is compared per placement
     private void updateFeaturesForCenter(Tile tile) {
-        for (TileSection centerSection : tile.getCenterSections()) {
-            GraphFeatureNode centerNode = new GraphFeatureNode(centerSection);
-
-            if (!isSupportedFeatureType(centerSection.getType())) {
+        TileDefinition definition = tile.getDefinition();
+        ImmutableList<TileSection> centerSections = tile.getCenterSections();
+        for (int centerIndex = 0; centerIndex < centerSections.size(); centerIndex++) {
+            TileSection centerSection = centerSections.get(centerIndex);
+            int edgeMask = definition.getCenterEdgeMask(centerIndex, tile.getClockWiseRotationCount());
+            if (edgeMask == 0 || !isSupportedFeatureType(centerSection.getType())) {
                 continue;
             }
 
-            List<GraphFeature> connectedFeatures = new ArrayList<>();
+            GraphFeatureNode centerNode = new GraphFeatureNode(centerSection);
+            @Nullable GraphFeature centerFeature = null;
             for (Direction direction : Direction.values()) {
-                TileSection adjacentTileSection = tile.getSection(direction);
-                if (adjacentTileSection.getType() != centerSection.getType()) {
+                if ((edgeMask & (1 << direction.ordinal())) == 0) {
                     centerNode.closeNode(direction);
                     continue;
                 }
 
-                GraphFeature adjacentFeature = this.tileSectionToFeature.get(adjacentTileSection);
-                assert adjacentFeature != null : "unexpected missing feature";
+                TileSection adjacentTileSection = tile.getSection(direction);
 
-                connectCenterNode(adjacentFeature, centerNode, adjacentTileSection, direction.oppositeDirection());
+                GraphFeatureNode adjacentNode = this.tileSectionToNode.get(adjacentTileSection);
+                assert adjacentNode != null : "unexpected missing feature";
 
-                connectedFeatures.add(adjacentFeature);
-            }
+                connectNodes(adjacentNode, centerNode, direction.oppositeDirection());
 
-            if (connectedFeatures.size() == 0) {
-                continue;
+                GraphFeature adjacentFeature = adjacentNode.getFeature().find();
+                centerFeature = centerFeature == null
+                        ? adjacentFeature
+                        : union(centerFeature, adjacentFeature);
             }
 
-            if (connectedFeatures.size() == 1) {
-                this.tileSectionToFeature.put(centerSection, connectedFeatures.get(0));
-                continue;
-            }
-
-            GraphFeature mergedFeature = new GraphFeature(this.playerManager, this.tileManager, centerSection.getType());
-            mergedFeature.merge(connectedFeatures);
-            for (TileSection tileSection : mergedFeature.getTileSections()) {
-                this.tileSectionToFeature.put(tileSection, mergedFeature);
-            }
+            assert centerFeature != null : "center joins no edge";
+            centerFeature.addNode(centerNode);
+            this.tileSectionToNode.put(centerSection, centerNode);
+            centerSection.setMeepleListener(centerNode);
         }
 
         for (Direction direction : Direction.values()) {
             TileSection tileSection = tile.getSection(direction);
-            GraphFeature feature = this.tileSectionToFeature.get(tileSection);
-            if (feature == null) {
+            @Nullable GraphFeatureNode node = this.tileSectionToNode.get(tileSection);
+            if (node == null) {
                 continue;
             }
-            GraphFeatureNode node = feature.getNode(tileSection);
             if (node.getNode(direction.oppositeDirection()) == GraphFeatureNode.OPEN_NODE) {
                 node.closeNode(direction.oppositeDirection());
             }
         }
     }
 
-    private void connectAbuttingNode(GraphFeature feature,
+    // union by size, the absorbed root is no longer a feature of its own
+    private GraphFeature union(GraphFeature feature, GraphFeature anotherFeature) {
+        GraphFeature root = feature.find();
+        GraphFeature anotherRoot = anotherFeature.find();
+        if (root == anotherRoot) {
+            return root;
+        }
+
+        if (root.size() < anotherRoot.size()) {
+            GraphFeature temp = root;
+            root = anotherRoot;
+            anotherRoot = temp;
+        }
+
+        root.absorb(anotherRoot);
+        this.features.remove(anotherRoot);
+        return root;
+    }
+
+    private static void connectNodes(GraphFeatureNode existingNode,
                                      GraphFeatureNode newNode,
-                                     TileSection existingSection,
                                      Direction directionFromExisting) {
-        GraphFeatureNode existingNode = feature.getNode(existingSection);
-        feature.addNode(newNode);
-
         existingNode.connectNode(newNode, directionFromExisting);
         newNode.connectNode(existingNode, directionFromExisting.oppositeDirection());
     }
 
-    private void connectCenterNode(GraphFeature feature,
-                                   GraphFeatureNode centerNode,
-                                   TileSection existingSection,
-                                   Direction directionFromExisting) {
-        GraphFeatureNode existingNode = feature.getNode(existingSection);
-
-        assert existingNode != null : "unexpected null node";
-
-        existingNode.connectNode(centerNode, directionFromExisting);
-        centerNode.connectNode(existingNode, directionFromExisting.oppositeDirection());
-
-        feature.addNode(centerNode);
-    }
-
     private boolean isSupportedFeatureType(TileSectionType type) {
         return type == TileSectionType.CITY
                 || type == TileSectionType.ROAD;
     }
-}
\ No newline at end of file
+}
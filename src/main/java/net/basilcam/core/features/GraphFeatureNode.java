@@ -1,9 +1,10 @@
 package net.basilcam.core.features;
 
 import net.basilcam.core.Direction;
+import net.basilcam.core.Meeple;
 import net.basilcam.core.tiles.TileSection;
 
-public class GraphFeatureNode {
+public class GraphFeatureNode implements TileSection.MeepleListener {
     public static final GraphFeatureNode OPEN_NODE = new GraphFeatureNode(null);
     public static final GraphFeatureNode CLOSED_NODE = new GraphFeatureNode(null);
 
@@ -13,6 +14,8 @@ public class GraphFeatureNode {
     private GraphFeatureNode leftNode;
     private GraphFeatureNode bottomNode;
     private GraphFeatureNode rightNode;
+    private GraphFeature feature;
+    private GraphFeatureNode nextNode;
 
     // if a given node is empty, another node can be connected to it
     // if a given node is a terminator, no node can be connected to it
@@ -23,12 +26,31 @@ public class GraphFeatureNode {
         this.leftNode = OPEN_NODE;
         this.bottomNode = OPEN_NODE;
         this.rightNode = OPEN_NODE;
+        this.feature = null;
+        this.nextNode = null;
     }
 
     public TileSection getTileSection() {
         return this.tileSection;
     }
 
+    // the feature this node was added to, which may since have been merged; resolve with find()
+    public GraphFeature getFeature() {
+        return this.feature;
+    }
+
+    void setFeature(GraphFeature feature) {
+        this.feature = feature;
+    }
+
+    GraphFeatureNode getNextNode() {
+        return this.nextNode;
+    }
+
+    void setNextNode(GraphFeatureNode node) {
+        this.nextNode = node;
+    }
+
     public GraphFeatureNode getNode(Direction direction) {
         switch (direction) {
             case UP:
@@ -44,14 +66,37 @@ public class GraphFeatureNode {
         }
     }
 
+    @Override
+    public void meeplePlaced(Meeple meeple) {
+        if (this.feature != null) {
+            this.feature.find().meeplePlaced(this, meeple);
+        }
+    }
+
+    @Override
+    public void meepleRemoved(Meeple meeple) {
+        if (this.feature != null) {
+            this.feature.find().meepleRemoved(this, meeple);
+        }
+    }
+
     public boolean hasOpenConnection() {
-        return this.topNode == OPEN_NODE
-                || this.leftNode == OPEN_NODE
-                || this.bottomNode == OPEN_NODE
-                || this.rightNode == OPEN_NODE;
+        return getOpenConnectionCount() > 0;
+    }
+
+    public int getOpenConnectionCount() {
+        return (this.topNode == OPEN_NODE ? 1 : 0)
+                + (this.leftNode == OPEN_NODE ? 1 : 0)
+                + (this.bottomNode == OPEN_NODE ? 1 : 0)
+                + (this.rightNode == OPEN_NODE ? 1 : 0);
     }
 
     public void connectNode(GraphFeatureNode node, Direction directionFromExisting) {
+        // once the node belongs to a feature, the feature keeps count of its open connections
+        if (this.feature != null && node != OPEN_NODE && getNode(directionFromExisting) == OPEN_NODE) {
+            this.feature.find().connectionClosed();
+        }
+
         switch (directionFromExisting) {
             case UP:
                 setTopNode(node);
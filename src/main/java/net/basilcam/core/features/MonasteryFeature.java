@@ -1,5 +1,6 @@
 package net.basilcam.core.features;
 
+import net.basilcam.core.Board;
 import net.basilcam.core.Meeple;
 import net.basilcam.core.Player;
 import net.basilcam.core.PlayerManager;
@@ -9,38 +10,45 @@ import net.basilcam.core.tiles.TileSectionType;
 
 public class MonasteryFeature implements Feature {
     public static final int POINTS_PER_MONASTERY = 9;
-    private static final int NUMBER_OF_ROWS = 3;
-    private static final int NUMBER_OF_COLUMNS = 3;
-    private final Tile[][] tiles;
+    public static final int NEIGHBOUR_COUNT = 8;
     private final PlayerManager playerManager;
+    private final Board board;
+    private final Tile tile;
+    private final long position;
+    private int neighbourCount;
 
     private boolean hasBeenScored;
 
-    public MonasteryFeature(PlayerManager playerManager, Tile tile) {
+    public MonasteryFeature(PlayerManager playerManager, Board board, Tile tile, long position) {
         this.playerManager = playerManager;
-        this.tiles = new Tile[NUMBER_OF_ROWS][NUMBER_OF_COLUMNS];
-        this.tiles[1][1] = tile;
+        this.board = board;
+        this.tile = tile;
+        this.position = position;
+        this.neighbourCount = 0;
         this.hasBeenScored = false;
     }
 
-    public void addTile(Tile tile, int i, int j) {
-        assert i >= 0 && i <= NUMBER_OF_ROWS : "invalid row index";
-        assert j >= 0 && j <= NUMBER_OF_COLUMNS : "invalid column index";
-        assert this.tiles[i][j] == null : "tile already set";
+    public Tile getTile() {
+        return this.tile;
+    }
+
+    public long getPosition() {
+        return this.position;
+    }
+
+    public int getNeighbourCount() {
+        return this.neighbourCount;
+    }
+
+    void addNeighbour() {
+        assert this.neighbourCount < NEIGHBOUR_COUNT : "monastery already surrounded";
 
-        this.tiles[i][j] = tile;
+        this.neighbourCount++;
     }
 
     @Override
     public boolean isComplete() {
-        for (int i = 0 ; i < NUMBER_OF_ROWS; i++) {
-            for (int j = 0; j < NUMBER_OF_COLUMNS; j++) {
-                if (this.tiles[i][j] == null) {
-                    return false;
-                }
-            }
-        }
-        return true;
+        return this.neighbourCount == NEIGHBOUR_COUNT;
     }
 
     @Override
@@ -56,12 +64,11 @@ public class MonasteryFeature implements Feature {
 
         this.hasBeenScored = true;
 
-        Tile tile = this.tiles[1][1];
-        for (TileSection section : tile.getCenterSections()) { // there should only ever be one center section
+        for (TileSection section : this.tile.getCenterSections()) { // there should only ever be one center section
             if (section.getMeeple().isPresent()) {
                 Meeple meeple = section.getMeeple().get();
                 Player player = this.playerManager.getMeepleOwner(meeple);
-                section.removeMeeple();
+                this.board.removeMeeple(section);
                 player.addScore(POINTS_PER_MONASTERY);
             }
         }
@@ -1,81 +1,60 @@
 package net.basilcam.core.features;
 
 import net.basilcam.core.Board;
-import net.basilcam.core.Pair;
 import net.basilcam.core.PlayerManager;
+import net.basilcam.core.Position;
+import net.basilcam.core.PositionMap;
 import net.basilcam.core.tiles.Tile;
 import net.basilcam.core.tiles.TileSection;
 import net.basilcam.core.tiles.TileSectionType;
-import org.jetbrains.annotations.VisibleForTesting;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 public class MonasteryFeatureManager implements FeatureManager {
     private final PlayerManager playerManager;
     private final Board board;
-    private final Map<Tile, MonasteryFeature> centerTileToFeature;
+    private final PositionMap<MonasteryFeature> positionToFeature;
+    private final List<MonasteryFeature> features;
+    private final List<MonasteryFeature> completedFeatures;
 
     public MonasteryFeatureManager(PlayerManager playerManager, Board board) {
         this.playerManager = playerManager;
         this.board = board;
-        this.centerTileToFeature = new HashMap<>();
+        this.positionToFeature = new PositionMap<>();
+        this.features = new ArrayList<>();
+        this.completedFeatures = new ArrayList<>();
 
-        this.board.forEachTile(this::updateFeatures);
+        // every tile is on the board already, so each monastery counts its neighbours from the board alone
+        this.board.forEachTile(this::addMonastery);
     }
 
     @Override
     public void updateFeatures(Tile tile, int xPosition, int yPosition) {
-        // todo: combine these two pairs of nested loops -- i think its possible
+        addMonastery(tile, xPosition, yPosition);
 
-        // add tile to surrounding monasteries
+        // the placed tile counts towards each neighbouring monastery
         for (int x = xPosition - 1; x <= xPosition + 1; x++) {
             for (int y = yPosition - 1; y <= yPosition + 1; y++) {
                 if (x == xPosition && y == yPosition) {
                     continue;
                 }
 
-                Optional<Tile> centerTile = this.board.getTile(x, y);
-                if (centerTile.isEmpty()) {
-                    continue;
-                }
-
-                MonasteryFeature feature = this.centerTileToFeature.get(centerTile.get());
-                if (feature == null) {
-                    continue;
+                @Nullable MonasteryFeature feature = this.positionToFeature.get(Position.pack(x, y));
+                if (feature != null) {
+                    addNeighbour(feature);
                 }
-
-                Pair<Integer> indices = convertPositionsToIndices(new Pair<>(x, y),
-                        new Pair<>(xPosition, yPosition));
-                feature.addTile(tile, indices.getFirst(), indices.getSecond());
             }
         }
+    }
 
-        // if tile contains a monastery, add a new feature, add surrounding tiles
-        if (MonasteryFeatureManager.containsMonastery(tile)) {
-            MonasteryFeature feature = new MonasteryFeature(this.playerManager, tile);
-            this.centerTileToFeature.put(tile, feature);
-
-            for (int x = xPosition - 1; x <= xPosition + 1; x++) {
-                for (int y = yPosition - 1; y <= yPosition + 1; y++) {
-                    if (x == xPosition && y == yPosition) {
-                        continue;
-                    }
-
-                    Optional<Tile> adjacentTile = this.board.getTile(x, y);
-                    if (adjacentTile.isPresent()) {
-                        Pair<Integer> indices = convertPositionsToIndices(new Pair<>(xPosition, yPosition),
-                                new Pair<>(x, y));
-                        feature.addTile(adjacentTile.get(), indices.getFirst(), indices.getSecond());
-                    }
-                }
-            }
-        }
+    public @Nullable MonasteryFeature getFeature(int xPosition, int yPosition) {
+        return this.positionToFeature.get(Position.pack(xPosition, yPosition));
     }
 
     @Override
     public Collection<? extends Feature> getFeatures() {
-        return this.centerTileToFeature.values();
+        return Collections.unmodifiableList(this.features);
     }
 
     @Override
@@ -85,22 +64,48 @@ public class MonasteryFeatureManager implements FeatureManager {
 
     @Override
     public void scoreFeatures() {
-        // todo: very inefficient
-        new HashSet<>(this.centerTileToFeature.values()).forEach(MonasteryFeature::score);
+        // only a monastery that has just been surrounded can score
+        for (int i = 0; i < this.completedFeatures.size(); i++) {
+            this.completedFeatures.get(i).score();
+        }
+        this.completedFeatures.clear();
     }
 
-    @VisibleForTesting
-    public static Pair<Integer> convertPositionsToIndices(Pair<Integer> monasteryXY, Pair<Integer> tileXY) {
-        int i = 1 + (monasteryXY.getSecond() - tileXY.getSecond());
-        int j = 1 + (tileXY.getFirst() - monasteryXY.getFirst());
+    private void addNeighbour(MonasteryFeature feature) {
+        feature.addNeighbour();
+        if (feature.isComplete()) {
+            this.completedFeatures.add(feature);
+        }
+    }
 
-        return new Pair<>(i, j);
+    // each occupied neighbour counts towards a placed monastery
+    private void addMonastery(Tile tile, int xPosition, int yPosition) {
+        if (!MonasteryFeatureManager.containsMonastery(tile)) {
+            return;
+        }
+
+        MonasteryFeature feature = new MonasteryFeature(this.playerManager, this.board, tile, Position.pack(xPosition, yPosition));
+        this.positionToFeature.put(feature.getPosition(), feature);
+        this.features.add(feature);
+        for (int x = xPosition - 1; x <= xPosition + 1; x++) {
+            for (int y = yPosition - 1; y <= yPosition + 1; y++) {
+                if ((x != xPosition || y != yPosition) && this.board.getTileOrNull(Position.pack(x, y)) != null) {
+                    feature.addNeighbour();
+                }
+            }
+        }
+
+        if (feature.isComplete()) {
+            this.completedFeatures.add(feature);
+        }
     }
 
     private static boolean containsMonastery(Tile tile) {
-        return tile.getCenterSections().stream()
-                .map(TileSection::getType)
-                .collect(Collectors.toList())
-                .contains(TileSectionType.MONASTERY);
+        for (TileSection section : tile.getCenterSections()) {
+            if (section.getType() == TileSectionType.MONASTERY) {
+                return true;
+            }
+        }
+        return false;
     }
 }
@@ -0,0 +1,88 @@
+package net.basilcam.core.tiles;
+
+import net.basilcam.core.Direction;
+
+// the section types on a tile's four edges packed into 8 bits, 2 bits per side at 2 * Direction.ordinal()
+// codes are never 0, so a frontier slot's required value alone also identifies which sides are constrained
+public enum EdgeSignature {
+    ;
+
+    public static final int BITS_PER_SIDE = 2;
+    public static final int SIDE_MASK = 0b11;
+    public static final int SIGNATURE_COUNT = 1 << (BITS_PER_SIDE * 4);
+
+    public static final int CITY_CODE = 1;
+    public static final int FIELD_CODE = 2;
+    public static final int ROAD_CODE = 3;
+
+    public static int encode(TileSectionType type) {
+        switch (type) {
+            case CITY:
+                return CITY_CODE;
+            case FIELD:
+                return FIELD_CODE;
+            case ROAD:
+                return ROAD_CODE;
+            default:
+                throw new IllegalArgumentException("not an edge section type: " + type);
+        }
+    }
+
+    public static TileSectionType decode(int code) {
+        switch (code) {
+            case CITY_CODE:
+                return TileSectionType.CITY;
+            case FIELD_CODE:
+                return TileSectionType.FIELD;
+            case ROAD_CODE:
+                return TileSectionType.ROAD;
+            default:
+                throw new IllegalArgumentException("not an edge code: " + code);
+        }
+    }
+
+    public static int shift(Direction direction) {
+        return BITS_PER_SIDE * direction.ordinal();
+    }
+
+    public static int sideMask(Direction direction) {
+        return SIDE_MASK << shift(direction);
+    }
+
+    public static int encode(Direction direction, TileSectionType type) {
+        return encode(type) << shift(direction);
+    }
+
+    public static int getCode(int signature, Direction direction) {
+        return (signature >>> shift(direction)) & SIDE_MASK;
+    }
+
+    public static int of(TileSectionType top, TileSectionType left, TileSectionType bottom, TileSectionType right) {
+        return encode(Direction.UP, top)
+                | encode(Direction.LEFT, left)
+                | encode(Direction.DOWN, bottom)
+                | encode(Direction.RIGHT, right);
+    }
+
+    // after one clockwise turn each side shows what the side counter-clockwise of it showed, which is one slot higher
+    public static int rotateClockwise(int signature, int times) {
+        int bits = BITS_PER_SIDE * Math.floorMod(times, 4);
+        return ((signature >>> bits) | (signature << (8 - bits))) & 0xFF;
+    }
+
+    // bit i is set if rotation i gives a signature that no lower rotation gives
+    public static int getDistinctRotations(int signature) {
+        int distinctRotations = 0;
+        for (int rotation = 0; rotation < 4; rotation++) {
+            int rotated = rotateClockwise(signature, rotation);
+            boolean isDuplicate = false;
+            for (int previous = 0; previous < rotation; previous++) {
+                isDuplicate |= rotateClockwise(signature, previous) == rotated;
+            }
+            if (!isDuplicate) {
+                distinctRotations |= 1 << rotation;
+            }
+        }
+        return distinctRotations;
+    }
+}
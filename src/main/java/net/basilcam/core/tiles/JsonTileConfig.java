@@ -23,8 +23,7 @@ public class JsonTileConfig {
         JsonTile[] tiles;
     }
 
-    public static TileSection convertTypeNameToTileSection(String typeName) {
-        TileSectionType type = Enum.valueOf(TileSectionType.class, typeName.toUpperCase());
-        return new TileSection(type);
+    public static TileSectionType convertTypeName(String typeName) {
+        return Enum.valueOf(TileSectionType.class, typeName.toUpperCase());
     }
 }
@@ -4,53 +4,62 @@ import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Multimap;
 import net.basilcam.core.Direction;
+import net.basilcam.core.Meeple;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.*;
+import java.util.Optional;
 
+// a tile definition in play: its rotation and the meeple slot. sections are views onto the tile, only created once
+// something asks for them, which tiles still in the stack never do
 public class Tile {
-    private final int id;
-    private TileSection topSection;
-    private TileSection leftSection;
-    private TileSection bottomSection;
-    private TileSection rightSection;
-    private final ImmutableList<TileSection> centerSections;
-    private final boolean hasCoatOfArms;
+    private static final int NO_SECTION = -1;
+    private final TileDefinition definition;
     private int clockWiseRotationCount;
-
-    private Tile(int id,
-                 TileSection topSection,
-                 TileSection leftSection,
-                 TileSection bottomSection,
-                 TileSection rightSection,
-                 ImmutableList<TileSection> centerSections,
-                 boolean hasCoatOfArms) {
-        this.id = id;
-        this.topSection = topSection;
-        this.leftSection = leftSection;
-        this.bottomSection = bottomSection;
-        this.rightSection = rightSection;
-        this.centerSections = centerSections;
-        this.hasCoatOfArms = hasCoatOfArms;
+    // a player only places a meeple on the tile they just placed, so a tile holds at most one
+    private @Nullable Meeple meeple;
+    private int meepleSectionIndex;
+    private @Nullable TileSection.MeepleListener[] meepleListeners;
+    private @Nullable TileSection[] edgeSections;
+    private @Nullable ImmutableList<TileSection> centerSections;
+
+    Tile(TileDefinition definition) {
+        this.definition = definition;
         this.clockWiseRotationCount = 0;
+        this.meeple = null;
+        this.meepleSectionIndex = NO_SECTION;
+        this.meepleListeners = null;
+        this.edgeSections = null;
+        this.centerSections = null;
     }
 
     public int getId() {
-        return id;
+        return this.definition.getId();
+    }
+
+    public TileDefinition getDefinition() {
+        return this.definition;
     }
 
     public TileSection getSection(Direction direction) {
-        switch (direction) {
-            case UP:
-                return getTopSection();
-            case LEFT:
-                return getLeftSection();
-            case DOWN:
-                return getBottomSection();
-            case RIGHT:
-                return getRightSection();
-            default:
-                throw new IllegalStateException();
-        }
+        return getSection(direction, this.clockWiseRotationCount);
+    }
+
+    // the section that would face the given direction if the tile had the given rotation, without rotating it
+    public TileSection getSection(Direction direction, int clockWiseRotationCount) {
+        return getEdgeSections()[direction.rotateCounterClockwise(clockWiseRotationCount).ordinal()];
+    }
+
+    // allocation free alternative to getSection(direction).getType()
+    public TileSectionType getEdgeType(Direction direction) {
+        return this.definition.getEdgeType(direction, this.clockWiseRotationCount);
+    }
+
+    public int getEdgeSignature() {
+        return getEdgeSignature(this.clockWiseRotationCount);
+    }
+
+    public int getEdgeSignature(int clockWiseRotationCount) {
+        return this.definition.getEdgeSignature(clockWiseRotationCount);
     }
 
     public Multimap<TileSectionLocation, TileSection> getSections() {
@@ -64,102 +73,116 @@ public class Tile {
     }
 
     public TileSection getTopSection() {
-        return topSection;
+        return getSection(Direction.UP);
     }
 
     public TileSection getLeftSection() {
-        return leftSection;
+        return getSection(Direction.LEFT);
     }
 
     public TileSection getBottomSection() {
-        return bottomSection;
+        return getSection(Direction.DOWN);
     }
 
     public TileSection getRightSection() {
-        return rightSection;
+        return getSection(Direction.RIGHT);
     }
 
     public ImmutableList<TileSection> getCenterSections() {
+        if (this.centerSections == null) {
+            ImmutableList.Builder<TileSection> builder = ImmutableList.builder();
+            int index = Direction.values().length;
+            for (TileSectionType type : this.definition.getCenterTypes()) {
+                builder.add(new TileSection(this, type, index++));
+            }
+            this.centerSections = builder.build();
+        }
         return this.centerSections;
     }
 
     public boolean hasCoatOfArms() {
-        return this.hasCoatOfArms;
+        return this.definition.hasCoatOfArms();
     }
 
     public void rotateClockwise() {
-        TileSection tempTop = this.topSection;
-        TileSection tempLeft = this.leftSection;
-        TileSection tempBottom = this.bottomSection;
-        TileSection tempRight = this.rightSection;
-
-        this.rightSection = tempTop;
-        this.bottomSection = tempRight;
-        this.leftSection = tempBottom;
-        this.topSection = tempLeft;
-
         this.clockWiseRotationCount = this.clockWiseRotationCount == 3
                 ? 0
                 : this.clockWiseRotationCount + 1;
     }
 
+    public void rotateTo(int clockWiseRotationCount) {
+        assert clockWiseRotationCount >= 0 && clockWiseRotationCount < 4 : "invalid rotation";
+
+        this.clockWiseRotationCount = clockWiseRotationCount;
+    }
+
     public int getClockWiseRotationCount() {
         return this.clockWiseRotationCount;
     }
 
-    public static class Builder {
-        private int id;
-        private TileSection topSection;
-        private TileSection leftSection;
-        private TileSection bottomSection;
-        private TileSection rightSection;
-        private final List<TileSection> centerSections;
-        private boolean hasCoatOfArms;
+    // the section index of the meeple on the tile, or -1 if there is none
+    public int getMeepleSectionIndex() {
+        return this.meepleSectionIndex;
+    }
 
-        Builder(int id) {
-            this.id = id;
-            this.centerSections = new ArrayList<>();
-        }
+    Optional<Meeple> getMeeple(int sectionIndex) {
+        return sectionIndex == this.meepleSectionIndex ? Optional.of(this.meeple) : Optional.empty();
+    }
 
-        Builder withTop(TileSection section) {
-            this.topSection = section;
-            return this;
-        }
+    void placeMeeple(int sectionIndex, Meeple meeple) {
+        assert this.meeple == null : "tile already has a meeple";
 
-        Builder withLeft(TileSection section) {
-            this.leftSection = section;
-            return this;
+        meeple.placeMeeple();
+        this.meeple = meeple;
+        this.meepleSectionIndex = sectionIndex;
+        @Nullable TileSection.MeepleListener meepleListener = getMeepleListener(sectionIndex);
+        if (meepleListener != null) {
+            meepleListener.meeplePlaced(meeple);
         }
+    }
 
-        Builder withBottom(TileSection section) {
-            this.bottomSection = section;
-            return this;
-        }
+    void removeMeeple(int sectionIndex) {
+        assert sectionIndex == this.meepleSectionIndex && this.meeple != null;
 
-        Builder withRight(TileSection section) {
-            this.rightSection = section;
-            return this;
+        Meeple meeple = this.meeple;
+        meeple.removeMeeple();
+        this.meeple = null;
+        this.meepleSectionIndex = NO_SECTION;
+        @Nullable TileSection.MeepleListener meepleListener = getMeepleListener(sectionIndex);
+        if (meepleListener != null) {
+            meepleListener.meepleRemoved(meeple);
         }
+    }
 
-        Builder addCenter(TileSection section) {
-            this.centerSections.add(section);
-            return this;
+    void setMeepleListener(int sectionIndex, @Nullable TileSection.MeepleListener meepleListener) {
+        if (this.meepleListeners == null) {
+            this.meepleListeners = new TileSection.MeepleListener[Direction.values().length + this.definition.getCenterTypes().size()];
         }
+        this.meepleListeners[sectionIndex] = meepleListener;
+    }
 
-        Builder withCoatOfArms(boolean hasCoatOfArms) {
-            this.hasCoatOfArms = hasCoatOfArms;
-            return this;
-        }
+    private @Nullable TileSection.MeepleListener getMeepleListener(int sectionIndex) {
+        return this.meepleListeners == null ? null : this.meepleListeners[sectionIndex];
+    }
 
-        Tile build() {
-            return new Tile(this.id,
-                    this.topSection,
-                    this.leftSection,
-                    this.bottomSection,
-                    this.rightSection,
-                    ImmutableList.copyOf(this.centerSections),
-                    hasCoatOfArms);
+    // indexed by the direction each section faces on the unrotated tile
+    private TileSection[] getEdgeSections() {
+        if (this.edgeSections == null) {
+            Direction[] directions = Direction.values();
+            TileSection[] sections = new TileSection[directions.length];
+            for (Direction direction : directions) {
+                sections[direction.ordinal()] = new TileSection(this, this.definition.getEdgeType(direction), direction.ordinal());
+            }
+            this.edgeSections = sections;
         }
+        return this.edgeSections;
+    }
 
+    @Override
+    public String toString() {
+        return "Tile{" +
+                "id=" + getId() +
+                ", clockWiseRotationCount=" + clockWiseRotationCount +
+                '}';
     }
 }
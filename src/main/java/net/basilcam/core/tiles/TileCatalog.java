@@ -0,0 +1,213 @@
+package net.basilcam.core.tiles;
+
+import com.google.common.collect.ImmutableList;
+import com.google.gson.Gson;
+import net.basilcam.core.Direction;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+// every tile of the game. definitions are immutable and shared by every deck, so creating a deck only allocates its
+// tiles. the standard catalog is compiled from tiles.json at build time, see generateTileCatalog in build.gradle,
+// and custom catalogs can still be read from json
+public final class TileCatalog {
+    private static final TileCatalog INSTANCE = GeneratedTileCatalog.create(createStartTileDefinition());
+
+    private final TileDefinition startTileDefinition;
+    private final ImmutableList<TileDefinition> definitions;
+    private final TileDefinition[] definitionsById;
+    private final int[] quantitiesById;
+    private final int tileCount;
+    // indexed by constraint pattern, see getFittingIds
+    private final long[] fittingIds;
+    private final TileDefinition[][] fittingDefinitions;
+    private final byte[][] fittingRotations;
+
+    // definitions and quantities are in deck order, before shuffling
+    TileCatalog(TileDefinition startTileDefinition, List<TileDefinition> definitions, List<Integer> quantities) {
+        assert definitions.size() == quantities.size() : "a quantity is needed for every definition";
+
+        this.startTileDefinition = startTileDefinition;
+        this.definitions = ImmutableList.copyOf(definitions);
+
+        int maxId = startTileDefinition.getId();
+        for (TileDefinition definition : definitions) {
+            maxId = Math.max(maxId, definition.getId());
+        }
+        if (maxId >= Long.SIZE) {
+            throw new IllegalArgumentException("tile ids must be below " + Long.SIZE + " but got " + maxId);
+        }
+        this.definitionsById = new TileDefinition[maxId + 1];
+        this.quantitiesById = new int[maxId + 1];
+        int tileCount = 0;
+        for (int index = 0; index < definitions.size(); index++) {
+            TileDefinition definition = definitions.get(index);
+            assert this.definitionsById[definition.getId()] == null : "duplicate tile id " + definition.getId();
+
+            this.definitionsById[definition.getId()] = definition;
+            this.quantitiesById[definition.getId()] = quantities.get(index);
+            tileCount += quantities.get(index);
+        }
+        this.tileCount = tileCount;
+
+        this.fittingIds = new long[EdgeSignature.SIGNATURE_COUNT];
+        this.fittingDefinitions = new TileDefinition[EdgeSignature.SIGNATURE_COUNT][];
+        this.fittingRotations = new byte[EdgeSignature.SIGNATURE_COUNT][];
+        for (int pattern = 0; pattern < EdgeSignature.SIGNATURE_COUNT; pattern++) {
+            indexPattern(pattern);
+        }
+    }
+
+    public static TileCatalog getInstance() {
+        return INSTANCE;
+    }
+
+    public TileDefinition getStartTileDefinition() {
+        return this.startTileDefinition;
+    }
+
+    public ImmutableList<TileDefinition> getDefinitions() {
+        return this.definitions;
+    }
+
+    public TileDefinition getDefinition(int id) {
+        TileDefinition definition = id < this.definitionsById.length ? this.definitionsById[id] : null;
+        if (definition == null) {
+            throw new IllegalArgumentException("no tile with id " + id);
+        }
+        return definition;
+    }
+
+    public int getQuantity(int id) {
+        return id < this.quantitiesById.length ? this.quantitiesById[id] : 0;
+    }
+
+    public int getTileCount() {
+        return this.tileCount;
+    }
+
+    // a pattern is the edge signature a slot requires with 0 on its unconstrained sides, which is exactly
+    // FrontierSlot.getRequiredValue(). bit i is set if some rotation of tile id i fits the pattern
+    public long getFittingIds(int pattern) {
+        return this.fittingIds[pattern];
+    }
+
+    public boolean canFit(int pattern, int id) {
+        return id < Long.SIZE && (this.fittingIds[pattern] & (1L << id)) != 0;
+    }
+
+    // every definition and distinct rotation that fits the pattern, in catalog order
+    public void forEachFittingPlacement(int pattern, FittingPlacementConsumer consumer) {
+        TileDefinition[] definitions = this.fittingDefinitions[pattern];
+        byte[] rotations = this.fittingRotations[pattern];
+        for (int index = 0; index < definitions.length; index++) {
+            consumer.accept(definitions[index], rotations[index]);
+        }
+    }
+
+    public Tile createStartTile() {
+        return new Tile(this.startTileDefinition);
+    }
+
+    public Tile createTile(int id) {
+        return new Tile(getDefinition(id));
+    }
+
+    // every tile of the game, unshuffled
+    public List<Tile> createTiles() {
+        List<Tile> tiles = new ArrayList<>(this.tileCount);
+        for (TileDefinition definition : this.definitions) {
+            for (int count = 0; count < this.quantitiesById[definition.getId()]; count++) {
+                tiles.add(new Tile(definition));
+            }
+        }
+        return tiles;
+    }
+
+    // the tiles.json on the classpath, which the standard catalog is generated from
+    public static TileCatalog readFromJson() {
+        InputStream stream = TileCatalog.class.getClassLoader().getResourceAsStream(JsonTileConfig.TILES_FILE_NAME);
+        assert stream != null;
+        try (Reader reader = new InputStreamReader(stream, StandardCharsets.UTF_8)) {
+            return readFromJson(reader);
+        } catch (IOException aE) {
+            aE.printStackTrace();
+            throw new RuntimeException("could not find tiles.json file");
+        }
+    }
+
+    // a custom catalog in the format of tiles.json, with the standard start tile
+    public static TileCatalog readFromJson(Reader reader) {
+        JsonTileConfig.JsonTileStack jsonTileStack = new Gson().fromJson(reader, JsonTileConfig.JsonTileStack.class);
+
+        List<TileDefinition> definitions = new ArrayList<>();
+        List<Integer> quantities = new ArrayList<>();
+        for (JsonTileConfig.JsonTile jsonTile : jsonTileStack.tiles) {
+            definitions.add(convertJsonToDefinition(jsonTile));
+            quantities.add(jsonTile.quantity);
+        }
+        return new TileCatalog(createStartTileDefinition(), definitions, quantities);
+    }
+
+    private void indexPattern(int pattern) {
+        int requiredMask = 0;
+        for (Direction direction : Direction.values()) {
+            if (EdgeSignature.getCode(pattern, direction) != 0) {
+                requiredMask |= EdgeSignature.sideMask(direction);
+            }
+        }
+
+        List<TileDefinition> definitions = new ArrayList<>();
+        List<Integer> rotations = new ArrayList<>();
+        for (TileDefinition definition : this.definitions) {
+            int distinctRotations = EdgeSignature.getDistinctRotations(definition.getEdgeSignature(0));
+            for (int rotation = 0; rotation < 4; rotation++) {
+                if ((distinctRotations & (1 << rotation)) != 0
+                        && (definition.getEdgeSignature(rotation) & requiredMask) == pattern) {
+                    definitions.add(definition);
+                    rotations.add(rotation);
+                    this.fittingIds[pattern] |= 1L << definition.getId();
+                }
+            }
+        }
+
+        this.fittingDefinitions[pattern] = definitions.toArray(new TileDefinition[0]);
+        this.fittingRotations[pattern] = new byte[rotations.size()];
+        for (int index = 0; index < rotations.size(); index++) {
+            this.fittingRotations[pattern][index] = rotations.get(index).byteValue();
+        }
+    }
+
+    private static TileDefinition createStartTileDefinition() {
+        return new TileDefinition.Builder(TileStackFactory.START_TILE_ID)
+                .withTop(TileSectionType.CITY)
+                .withLeft(TileSectionType.ROAD)
+                .withBottom(TileSectionType.FIELD)
+                .withRight(TileSectionType.ROAD)
+                .addCenter(TileSectionType.ROAD)
+                .withCoatOfArms(false)
+                .build();
+    }
+
+    private static TileDefinition convertJsonToDefinition(JsonTileConfig.JsonTile jsonTile) {
+        TileDefinition.Builder builder = new TileDefinition.Builder(jsonTile.id)
+                .withTop(JsonTileConfig.convertTypeName(jsonTile.topSection))
+                .withLeft(JsonTileConfig.convertTypeName(jsonTile.leftSection))
+                .withBottom(JsonTileConfig.convertTypeName(jsonTile.bottomSection))
+                .withRight(JsonTileConfig.convertTypeName(jsonTile.rightSection))
+                .withCoatOfArms(jsonTile.hasCoatOfArms);
+        for (String typeName : jsonTile.centerSections) {
+            builder.addCenter(JsonTileConfig.convertTypeName(typeName));
+        }
+        return builder.build();
+    }
+
+    public interface FittingPlacementConsumer {
+        void accept(TileDefinition definition, int clockWiseRotationCount);
+    }
+}
@@ -0,0 +1,66 @@
+package net.basilcam.core.tiles;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+// the undrawn tiles in draw order. drawing moves a cursor instead of shifting the rest of the tiles, and a count per
+// tile id answers how many of a tile are left without a scan
+public class TileDeck {
+    private final Tile[] tiles;
+    private final int[] remainingCounts;
+    private long remainingIds;
+    private int position;
+
+    public TileDeck(List<Tile> tiles) {
+        this.tiles = tiles.toArray(new Tile[0]);
+        int maxId = 0;
+        for (Tile tile : this.tiles) {
+            maxId = Math.max(maxId, tile.getId());
+        }
+        assert maxId < Long.SIZE : "tile ids must fit in a long mask";
+        this.remainingCounts = new int[maxId + 1];
+        for (Tile tile : this.tiles) {
+            this.remainingCounts[tile.getId()]++;
+            this.remainingIds |= 1L << tile.getId();
+        }
+        this.position = 0;
+    }
+
+    public Tile draw() {
+        assert !isEmpty() : "no tiles left";
+
+        Tile tile = this.tiles[this.position];
+        this.tiles[this.position++] = null;
+        if (--this.remainingCounts[tile.getId()] == 0) {
+            this.remainingIds &= ~(1L << tile.getId());
+        }
+        return tile;
+    }
+
+    public boolean isEmpty() {
+        return this.position == this.tiles.length;
+    }
+
+    public int size() {
+        return this.tiles.length - this.position;
+    }
+
+    public int getRemainingCount(int id) {
+        return id < this.remainingCounts.length ? this.remainingCounts[id] : 0;
+    }
+
+    // bit i is set while a tile with id i is left, to intersect with TileCatalog.getFittingIds
+    public long getRemainingIds() {
+        return this.remainingIds;
+    }
+
+    // one past the highest id in the deck, ids from here on have no tiles
+    public int getIdLimit() {
+        return this.remainingCounts.length;
+    }
+
+    public List<Tile> getRemainingTiles() {
+        return Collections.unmodifiableList(Arrays.asList(this.tiles).subList(this.position, this.tiles.length));
+    }
+}
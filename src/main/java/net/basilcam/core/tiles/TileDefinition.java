@@ -0,0 +1,160 @@
+package net.basilcam.core.tiles;
+
+import com.google.common.collect.ImmutableList;
+import net.basilcam.core.Direction;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// the immutable description of a tile id, shared by every copy of that tile
+public final class TileDefinition {
+    private final int id;
+    private final TileSectionType[] edgeTypes;
+    private final ImmutableList<TileSectionType> centerTypes;
+    private final boolean hasCoatOfArms;
+    private final int baseEdgeSignature;
+    // [rotation][center] the directions of the edges each center section joins once the tile is rotated
+    private final int[][] centerEdgeMasks;
+    // bit per TileSectionType ordinal, set if the tile has more than one separate segment of that type
+    private final int splitTypes;
+
+    private TileDefinition(int id,
+                           TileSectionType[] edgeTypes,
+                           ImmutableList<TileSectionType> centerTypes,
+                           boolean hasCoatOfArms) {
+        this.id = id;
+        this.edgeTypes = edgeTypes;
+        this.centerTypes = centerTypes;
+        this.hasCoatOfArms = hasCoatOfArms;
+        this.baseEdgeSignature = EdgeSignature.of(edgeTypes[Direction.UP.ordinal()],
+                edgeTypes[Direction.LEFT.ordinal()],
+                edgeTypes[Direction.DOWN.ordinal()],
+                edgeTypes[Direction.RIGHT.ordinal()]);
+        this.centerEdgeMasks = createCenterEdgeMasks(edgeTypes, centerTypes);
+        this.splitTypes = createSplitTypes(edgeTypes, centerTypes);
+    }
+
+    public int getId() {
+        return this.id;
+    }
+
+    // the type on the given side of the unrotated tile
+    public TileSectionType getEdgeType(Direction direction) {
+        return this.edgeTypes[direction.ordinal()];
+    }
+
+    public TileSectionType getEdgeType(Direction direction, int clockWiseRotationCount) {
+        return getEdgeType(direction.rotateCounterClockwise(clockWiseRotationCount));
+    }
+
+    public ImmutableList<TileSectionType> getCenterTypes() {
+        return this.centerTypes;
+    }
+
+    public boolean hasCoatOfArms() {
+        return this.hasCoatOfArms;
+    }
+
+    public int getEdgeSignature(int clockWiseRotationCount) {
+        return EdgeSignature.rotateClockwise(this.baseEdgeSignature, clockWiseRotationCount);
+    }
+
+    // bit i is set if the given center section joins the edge facing Direction.values()[i] at the given rotation
+    public int getCenterEdgeMask(int centerIndex, int clockWiseRotationCount) {
+        return this.centerEdgeMasks[Math.floorMod(clockWiseRotationCount, 4)][centerIndex];
+    }
+
+    // a tile has more than one separate segment of a type when no center section joins its edges of that type
+    public boolean isSplit(TileSectionType type) {
+        return (this.splitTypes & (1 << type.ordinal())) != 0;
+    }
+
+    // a center section joins every edge of its own type, so the groups only depend on the types and the rotation
+    private static int[][] createCenterEdgeMasks(TileSectionType[] edgeTypes, List<TileSectionType> centerTypes) {
+        Direction[] directions = Direction.values();
+        int[][] centerEdgeMasks = new int[directions.length][centerTypes.size()];
+        for (int rotation = 0; rotation < directions.length; rotation++) {
+            for (int center = 0; center < centerTypes.size(); center++) {
+                for (Direction direction : directions) {
+                    if (edgeTypes[direction.rotateCounterClockwise(rotation).ordinal()] == centerTypes.get(center)) {
+                        centerEdgeMasks[rotation][center] |= 1 << direction.ordinal();
+                    }
+                }
+            }
+        }
+        return centerEdgeMasks;
+    }
+
+    private static int createSplitTypes(TileSectionType[] edgeTypes, List<TileSectionType> centerTypes) {
+        int splitTypes = 0;
+        for (TileSectionType type : TileSectionType.values()) {
+            int edgeCount = 0;
+            for (TileSectionType edgeType : edgeTypes) {
+                if (edgeType == type) {
+                    edgeCount++;
+                }
+            }
+            if (edgeCount > 1 && !centerTypes.contains(type)) {
+                splitTypes |= 1 << type.ordinal();
+            }
+        }
+        return splitTypes;
+    }
+
+    @Override
+    public String toString() {
+        return "TileDefinition{" +
+                "id=" + id +
+                '}';
+    }
+
+    static class Builder {
+        private final int id;
+        private final TileSectionType[] edgeTypes;
+        private final List<TileSectionType> centerTypes;
+        private boolean hasCoatOfArms;
+
+        Builder(int id) {
+            this.id = id;
+            this.edgeTypes = new TileSectionType[Direction.values().length];
+            this.centerTypes = new ArrayList<>();
+        }
+
+        Builder withTop(TileSectionType type) {
+            this.edgeTypes[Direction.UP.ordinal()] = type;
+            return this;
+        }
+
+        Builder withLeft(TileSectionType type) {
+            this.edgeTypes[Direction.LEFT.ordinal()] = type;
+            return this;
+        }
+
+        Builder withBottom(TileSectionType type) {
+            this.edgeTypes[Direction.DOWN.ordinal()] = type;
+            return this;
+        }
+
+        Builder withRight(TileSectionType type) {
+            this.edgeTypes[Direction.RIGHT.ordinal()] = type;
+            return this;
+        }
+
+        Builder addCenter(TileSectionType type) {
+            this.centerTypes.add(type);
+            return this;
+        }
+
+        Builder withCoatOfArms(boolean hasCoatOfArms) {
+            this.hasCoatOfArms = hasCoatOfArms;
+            return this;
+        }
+
+        TileDefinition build() {
+            return new TileDefinition(this.id,
+                    this.edgeTypes.clone(),
+                    ImmutableList.copyOf(this.centerTypes),
+                    this.hasCoatOfArms);
+        }
+    }
+}
@@ -1,50 +1,110 @@
 package net.basilcam.core.tiles;
 
-import org.jetbrains.annotations.TestOnly;
+import net.basilcam.core.ZobristHash;
 
-import java.util.HashMap;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
+import java.util.SplittableRandom;
 
 public class TileManager {
-    private final List<Tile> tiles;
+    private final TileCatalog catalog;
+    private final TileDeck deck;
     private final Tile startTile;
-    protected Map<TileSection, Tile> sectionToTile;
+    private final ZobristHash hash;
+    private final List<DeckListener> deckListeners;
 
     public TileManager() {
-        this.startTile = TileStackFactory.createStartTile();
-        this.tiles = TileStackFactory.createTileStack();
-        this.sectionToTile = new HashMap<>();
+        this(new SplittableRandom());
+    }
+
+    public TileManager(long seed) {
+        this(new SplittableRandom(seed));
+    }
 
-        TileManager.addTileSectionMapping(this.sectionToTile, this.startTile);
-        this.tiles.forEach(tile -> TileManager.addTileSectionMapping(this.sectionToTile, tile));
+    public TileManager(SplittableRandom random) {
+        this(TileCatalog.getInstance(), random);
     }
 
-    public static void addTileSectionMapping(Map<TileSection, Tile> sectionToTile, Tile tile) {
-        for (TileSection tileSection : tile.getSections().values()) {
-            sectionToTile.put(tileSection, tile);
+    public TileManager(TileCatalog catalog, SplittableRandom random) {
+        this.catalog = catalog;
+        this.startTile = catalog.createStartTile();
+        this.deck = new TileDeck(TileStackFactory.createTileStack(catalog, random));
+        this.hash = new ZobristHash();
+        this.deckListeners = new ArrayList<>();
+
+        for (int id = 0; id < this.deck.getIdLimit(); id++) {
+            this.hash.toggle(ZobristHash.deckKey(id, this.deck.getRemainingCount(id)));
         }
     }
 
+    public TileCatalog getCatalog() {
+        return this.catalog;
+    }
+
+    // told the remaining ids straight away, then again whenever drawing uses up the last tile of an id
+    public void addDeckListener(DeckListener deckListener) {
+        this.deckListeners.add(deckListener);
+        deckListener.remainingIdsChanged(this.deck.getRemainingIds());
+    }
+
     public Tile getStartTile() {
         return this.startTile;
     }
 
     public Tile drawTile() {
         assert hasMoreTiles();
-        return this.tiles.remove(0);
+        Tile tile = this.deck.draw();
+
+        int id = tile.getId();
+        int remainingCount = this.deck.getRemainingCount(id);
+        this.hash.toggle(ZobristHash.deckKey(id, remainingCount + 1));
+        this.hash.toggle(ZobristHash.deckKey(id, remainingCount));
+        if (remainingCount == 0) {
+            for (DeckListener deckListener : this.deckListeners) {
+                deckListener.remainingIdsChanged(this.deck.getRemainingIds());
+            }
+        }
+        return tile;
+    }
+
+    // covers which tiles are left, but not the order they will be drawn in
+    public long getHash() {
+        return this.hash.get();
+    }
+
+    // the undrawn tiles in draw order
+    public List<Tile> getRemainingTiles() {
+        return this.deck.getRemainingTiles();
+    }
+
+    public int getRemainingTileCount() {
+        return this.deck.size();
+    }
+
+    public int getRemainingCount(int id) {
+        return this.deck.getRemainingCount(id);
+    }
+
+    // bit i is set while a tile with id i is left
+    public long getRemainingIds() {
+        return this.deck.getRemainingIds();
+    }
+
+    // bit i is set if a tile with id i is left and can fill a slot with the given constraint pattern,
+    // see TileCatalog.getFittingIds
+    public long getRemainingFittingIds(int pattern) {
+        return this.catalog.getFittingIds(pattern) & this.deck.getRemainingIds();
     }
 
     public boolean hasMoreTiles() {
-        return !this.tiles.isEmpty();
+        return !this.deck.isEmpty();
     }
 
     public Tile getTileFromSection(TileSection tileSection) {
-        return this.sectionToTile.get(tileSection);
+        return tileSection.getTile();
     }
 
-    @TestOnly
-    public void addTileSectionMapping(TileSection tileSection, Tile tile) {
-        this.sectionToTile.put(tileSection, tile);
+    public interface DeckListener {
+        void remainingIdsChanged(long remainingIds);
     }
 }
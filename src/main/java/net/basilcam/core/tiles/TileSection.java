@@ -1,34 +1,54 @@
 package net.basilcam.core.tiles;
 
 import net.basilcam.core.Meeple;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Optional;
 
+// a view onto one section of a tile, the meeple and its listener are kept on the tile
 public class TileSection {
-    private Optional<Meeple> meeple;
+    private final Tile tile;
     private final TileSectionType type;
+    private final int index;
 
-    public TileSection(TileSectionType type) {
-        this.meeple = Optional.empty();
+    // edge sections are indexed by the direction they face on the unrotated tile, center sections follow them
+    TileSection(Tile tile, TileSectionType type, int index) {
+        this.tile = tile;
         this.type = type;
+        this.index = index;
     }
 
     public Optional<Meeple> getMeeple() {
-        return meeple;
+        return this.tile.getMeeple(this.index);
     }
 
     public void placeMeeple(Meeple meeple) {
-        meeple.placeMeeple();
-        this.meeple = Optional.of(meeple);
+        this.tile.placeMeeple(this.index, meeple);
     }
 
     public void removeMeeple() {
-        assert this.meeple.isPresent();
-        this.meeple.get().removeMeeple();
-        this.meeple = Optional.empty();
+        this.tile.removeMeeple(this.index);
+    }
+
+    public void setMeepleListener(@Nullable MeepleListener meepleListener) {
+        this.tile.setMeepleListener(this.index, meepleListener);
+    }
+
+    public Tile getTile() {
+        return this.tile;
+    }
+
+    public int getIndex() {
+        return this.index;
     }
 
     public TileSectionType getType() {
         return type;
     }
+
+    public interface MeepleListener {
+        void meeplePlaced(Meeple meeple);
+
+        void meepleRemoved(Meeple meeple);
+    }
 }
@@ -2,17 +2,12 @@ package net.basilcam.core.tiles;
 
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.Multimap;
-import com.google.gson.Gson;
 import org.jetbrains.annotations.TestOnly;
 
-import java.io.*;
-import java.net.URI;
-import java.net.URISyntaxException;
-import java.net.URL;
-import java.nio.charset.StandardCharsets;
 import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
 import java.util.Stack;
-import java.util.function.Consumer;
 
 public enum TileStackFactory {
     ;
@@ -20,69 +15,43 @@ public enum TileStackFactory {
     public static final int START_TILE_ID = 24;
 
     public static Stack<Tile> createTileStack() {
-        JsonTileConfig.JsonTileStack jsonTileStack = readStackFromJson();
-        Stack<Tile> tileStack = convertJsonToTileStack(jsonTileStack);
-        Collections.shuffle(tileStack);
-        return tileStack;
+        return createTileStack(new SplittableRandom());
     }
 
-    public static Tile createStartTile() {
-        return new Tile.Builder(START_TILE_ID)
-                .withTop(new TileSection(TileSectionType.CITY))
-                .withLeft(new TileSection(TileSectionType.ROAD))
-                .withBottom(new TileSection(TileSectionType.FIELD))
-                .withRight(new TileSection(TileSectionType.ROAD))
-                .addCenter(new TileSection(TileSectionType.ROAD))
-                .withCoatOfArms(false)
-                .build();
+    public static Stack<Tile> createTileStack(long seed) {
+        return createTileStack(new SplittableRandom(seed));
     }
 
-    @TestOnly
-    public static Multimap<Integer, Tile> createTileMap() {
-        JsonTileConfig.JsonTileStack jsonTileStack = readStackFromJson();
-        return convertJsonToTileMap(jsonTileStack);
-    }
-
-    private static JsonTileConfig.JsonTileStack readStackFromJson() {
-        Gson gson = new Gson();
-
-        InputStream stream = TileStackFactory.class.getClassLoader().getResourceAsStream(JsonTileConfig.TILES_FILE_NAME);
-        assert stream != null;
-        // todo: check for autocloseable
-        try (Reader reader = new InputStreamReader(stream, StandardCharsets.UTF_8)) {
-            return gson.fromJson(reader, JsonTileConfig.JsonTileStack.class);
-        } catch (IOException aE) {
-            aE.printStackTrace();
-            throw new RuntimeException("could not find tiles.json file");
-        }
+    // the same seed always gives the same deck. threads building decks at once should each split off their own random
+    public static Stack<Tile> createTileStack(SplittableRandom random) {
+        return createTileStack(TileCatalog.getInstance(), random);
     }
 
-    private static Stack<Tile> convertJsonToTileStack(JsonTileConfig.JsonTileStack jsonTileStack) {
+    // a deck of a custom catalog, such as one read with TileCatalog.readFromJson
+    public static Stack<Tile> createTileStack(TileCatalog catalog, SplittableRandom random) {
         Stack<Tile> tileStack = new Stack<>();
-        convertJson(jsonTileStack, tileStack::push);
+        tileStack.addAll(catalog.createTiles());
+        shuffle(tileStack, random);
         return tileStack;
     }
 
-    private static Multimap<Integer, Tile> convertJsonToTileMap(JsonTileConfig.JsonTileStack jsonTileStack) {
+    public static Tile createStartTile() {
+        return TileCatalog.getInstance().createStartTile();
+    }
+
+    @TestOnly
+    public static Multimap<Integer, Tile> createTileMap() {
         Multimap<Integer, Tile> tileMap = ArrayListMultimap.create();
-        convertJson(jsonTileStack, (Tile tile) -> tileMap.put(tile.getId(), tile));
+        for (Tile tile : TileCatalog.getInstance().createTiles()) {
+            tileMap.put(tile.getId(), tile);
+        }
         return tileMap;
     }
 
-    private static void convertJson(JsonTileConfig.JsonTileStack jsonTileStack, Consumer<Tile> tileConsumer) {
-        for (JsonTileConfig.JsonTile jsonTile : jsonTileStack.tiles) {
-            for (int count = 0; count < jsonTile.quantity; count++) {
-                Tile.Builder builder = new Tile.Builder(jsonTile.id)
-                        .withTop(JsonTileConfig.convertTypeNameToTileSection(jsonTile.topSection))
-                        .withLeft(JsonTileConfig.convertTypeNameToTileSection(jsonTile.leftSection))
-                        .withBottom(JsonTileConfig.convertTypeNameToTileSection(jsonTile.bottomSection))
-                        .withRight(JsonTileConfig.convertTypeNameToTileSection(jsonTile.rightSection))
-                        .withCoatOfArms(jsonTile.hasCoatOfArms);
-                for (String typeName : jsonTile.centerSections) {
-                    builder.addCenter(JsonTileConfig.convertTypeNameToTileSection(typeName));
-                }
-                tileConsumer.accept(builder.build());
-            }
+    // fisher-yates, since Collections.shuffle only takes a java.util.Random
+    private static void shuffle(List<Tile> tiles, SplittableRandom random) {
+        for (int index = tiles.size() - 1; index > 0; index--) {
+            Collections.swap(tiles, index, random.nextInt(index + 1));
         }
     }
 }
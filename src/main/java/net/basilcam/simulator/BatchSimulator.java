@@ -0,0 +1,105 @@
+package net.basilcam.simulator;
+
+import net.basilcam.core.bot.Agent;
+import net.basilcam.core.bot.RandomAgent;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+// plays many games between agents without the gui, one game per thread at a time, and writes a csv line per game
+// as soon as it finishes. game seeds are drawn in game order from one stream seeded by the batch seed, so a batch
+// plays the same games whatever the number of threads
+public class BatchSimulator {
+    private final List<Function<Random, Agent>> agentFactories;
+    private final int threadCount;
+
+    // one agent factory per player, called once per game with a random of its own
+    public BatchSimulator(List<Function<Random, Agent>> agentFactories, int threadCount) {
+        assert threadCount > 0 : "invalid thread count";
+
+        this.agentFactories = List.copyOf(agentFactories);
+        this.threadCount = threadCount;
+    }
+
+    public Duration run(int gameCount, long seed, Writer output) throws IOException, InterruptedException {
+        long startTime = System.nanoTime();
+        output.write(GameResult.getCsvHeader(this.agentFactories.size()));
+        output.write(System.lineSeparator());
+
+        SplittableRandom seeds = new SplittableRandom(seed);
+        ExecutorService executor = Executors.newFixedThreadPool(this.threadCount);
+        try {
+            List<Future<?>> games = new ArrayList<>();
+            for (int gameIndex = 0; gameIndex < gameCount; gameIndex++) {
+                long gameSeed = seeds.nextLong();
+                int index = gameIndex;
+                games.add(executor.submit(() -> {
+                    GameResult result = new SimulatedGame(index, gameSeed, this.agentFactories).play();
+                    writeLine(output, result.toCsv());
+                }));
+            }
+            for (Future<?> game : games) {
+                game.get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        output.flush();
+        return Duration.ofNanos(System.nanoTime() - startTime);
+    }
+
+    private static void writeLine(Writer output, String line) {
+        synchronized (output) {
+            try {
+                output.write(line);
+                output.write(System.lineSeparator());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    // usage: <games> <output file> [players] [threads] [seed], every player is a RandomAgent
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 2) {
+            System.err.println("usage: <games> <output file> [players] [threads] [seed]");
+            System.exit(1);
+        }
+        int gameCount = Integer.parseInt(args[0]);
+        Path outputPath = Path.of(args[1]);
+        int playerCount = args.length > 2 ? Integer.parseInt(args[2]) : 2;
+        int threadCount = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 4 ? Long.parseLong(args[4]) : System.nanoTime();
+
+        List<Function<Random, Agent>> agentFactories = Collections.nCopies(playerCount, RandomAgent::new);
+        Duration elapsed;
+        try (BufferedWriter output = Files.newBufferedWriter(outputPath)) {
+            elapsed = new BatchSimulator(agentFactories, threadCount).run(gameCount, seed, output);
+        }
+
+        double seconds = elapsed.toNanos() / 1e9;
+        System.out.printf("%d games on %d threads in %.2fs, %.1f games/s, seed %d%n",
+                gameCount, threadCount, seconds, gameCount / seconds, seed);
+    }
+}
@@ -0,0 +1,124 @@
+package net.basilcam.simulator;
+
+import net.basilcam.core.tiles.TileSectionType;
+
+import java.util.Arrays;
+
+// the outcome of one simulated game, written as one line of csv
+public class GameResult {
+    public static final TileSectionType[] FEATURE_TYPES = {
+            TileSectionType.CITY, TileSectionType.ROAD, TileSectionType.MONASTERY};
+    private static final String[] FEATURE_NAMES = {"cities", "roads", "monasteries"};
+
+    private final int gameIndex;
+    private final long seed;
+    private final int turnCount;
+    private final boolean isStuck;
+    private final int[] scores;
+    private final int[] featureCounts;
+    private final int[] completedFeatureCounts;
+    private final long elapsedNanos;
+
+    // feature counts are indexed like FEATURE_TYPES
+    public GameResult(int gameIndex,
+                      long seed,
+                      int turnCount,
+                      boolean isStuck,
+                      int[] scores,
+                      int[] featureCounts,
+                      int[] completedFeatureCounts,
+                      long elapsedNanos) {
+        this.gameIndex = gameIndex;
+        this.seed = seed;
+        this.turnCount = turnCount;
+        this.isStuck = isStuck;
+        this.scores = scores.clone();
+        this.featureCounts = featureCounts.clone();
+        this.completedFeatureCounts = completedFeatureCounts.clone();
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public int getGameIndex() {
+        return this.gameIndex;
+    }
+
+    public long getSeed() {
+        return this.seed;
+    }
+
+    public int getTurnCount() {
+        return this.turnCount;
+    }
+
+    // the game stopped early because a tile could not be placed anywhere
+    public boolean isStuck() {
+        return this.isStuck;
+    }
+
+    public int getScore(int player) {
+        return this.scores[player];
+    }
+
+    public int getPlayerCount() {
+        return this.scores.length;
+    }
+
+    public int getFeatureCount(TileSectionType type) {
+        return this.featureCounts[indexOf(type)];
+    }
+
+    public int getCompletedFeatureCount(TileSectionType type) {
+        return this.completedFeatureCounts[indexOf(type)];
+    }
+
+    public long getElapsedNanos() {
+        return this.elapsedNanos;
+    }
+
+    public static String getCsvHeader(int playerCount) {
+        StringBuilder builder = new StringBuilder("game,seed,turns,stuck");
+        for (int player = 0; player < playerCount; player++) {
+            builder.append(",score").append(player);
+        }
+        for (String name : FEATURE_NAMES) {
+            builder.append(',').append(name).append(",completed_").append(name);
+        }
+        return builder.append(",nanos").toString();
+    }
+
+    public String toCsv() {
+        StringBuilder builder = new StringBuilder()
+                .append(this.gameIndex).append(',')
+                .append(this.seed).append(',')
+                .append(this.turnCount).append(',')
+                .append(this.isStuck);
+        for (int score : this.scores) {
+            builder.append(',').append(score);
+        }
+        for (int index = 0; index < FEATURE_TYPES.length; index++) {
+            builder.append(',').append(this.featureCounts[index])
+                    .append(',').append(this.completedFeatureCounts[index]);
+        }
+        return builder.append(',').append(this.elapsedNanos).toString();
+    }
+
+    private static int indexOf(TileSectionType type) {
+        for (int index = 0; index < FEATURE_TYPES.length; index++) {
+            if (FEATURE_TYPES[index] == type) {
+                return index;
+            }
+        }
+        throw new IllegalArgumentException("no feature of type " + type);
+    }
+
+    @Override
+    public String toString() {
+        return "GameResult{" +
+                "gameIndex=" + gameIndex +
+                ", seed=" + seed +
+                ", turnCount=" + turnCount +
+                ", isStuck=" + isStuck +
+                ", scores=" + Arrays.toString(scores) +
+                '}';
+    }
+}
@@ -0,0 +1,113 @@
+package net.basilcam.simulator;
+
+import net.basilcam.core.Player;
+import net.basilcam.core.TurnState;
+import net.basilcam.core.api.CarcassonneApi;
+import net.basilcam.core.api.CarcassonneHandler;
+import net.basilcam.core.bot.Agent;
+import net.basilcam.core.bot.AgentPlayer;
+import net.basilcam.core.features.Feature;
+import net.basilcam.core.tiles.TileManager;
+import net.basilcam.gui.PlayerColor;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+
+// one game between agents, played through CarcassonneApi with an AgentPlayer in every seat
+public class SimulatedGame implements CarcassonneHandler {
+    private final int gameIndex;
+    private final long seed;
+    private final CarcassonneApi api;
+    private final List<AgentPlayer> agentPlayers;
+
+    private @Nullable Player player;
+    private @Nullable TurnState turnState;
+    private boolean hasEnded;
+
+    public SimulatedGame(int gameIndex, long seed, List<Function<Random, Agent>> agentFactories) {
+        assert agentFactories.size() >= CarcassonneApi.MIN_PLAYERS && agentFactories.size() <= CarcassonneApi.MAX_PLAYERS
+                : "invalid player count";
+
+        this.gameIndex = gameIndex;
+        this.seed = seed;
+        SplittableRandom random = new SplittableRandom(seed);
+        TileManager tileManager = new TileManager(random.split());
+        this.api = new CarcassonneApi(tileManager);
+        this.api.register(this);
+
+        this.agentPlayers = new ArrayList<>();
+        for (int player = 0; player < agentFactories.size(); player++) {
+            Player apiPlayer = this.api.addPlayer("player" + player, PlayerColor.values()[player]);
+            Agent agent = agentFactories.get(player).apply(new Random(random.nextLong()));
+            this.agentPlayers.add(new AgentPlayer(this.api, apiPlayer, agent));
+        }
+
+        this.player = null;
+        this.turnState = null;
+        this.hasEnded = false;
+    }
+
+    public GameResult play() {
+        long startTime = System.nanoTime();
+        int turnCount = 0;
+        boolean isStuck = false;
+
+        this.api.startGame();
+        while (!this.hasEnded) {
+            if (!getAgentPlayer(this.player).playTurn(this.player, this.turnState)) {
+                isStuck = true;
+                break;
+            }
+            this.api.nextTurn();
+            turnCount++;
+        }
+
+        List<Player> players = this.api.getPlayers();
+        int[] scores = new int[players.size()];
+        for (int player = 0; player < scores.length; player++) {
+            scores[player] = players.get(player).getScore();
+        }
+
+        int[] featureCounts = new int[GameResult.FEATURE_TYPES.length];
+        int[] completedFeatureCounts = new int[GameResult.FEATURE_TYPES.length];
+        for (Feature feature : this.api.getFeatures()) {
+            for (int index = 0; index < GameResult.FEATURE_TYPES.length; index++) {
+                if (feature.getType() == GameResult.FEATURE_TYPES[index]) {
+                    featureCounts[index]++;
+                    completedFeatureCounts[index] += feature.isComplete() ? 1 : 0;
+                }
+            }
+        }
+
+        return new GameResult(this.gameIndex, this.seed, turnCount, isStuck,
+                scores, featureCounts, completedFeatureCounts, System.nanoTime() - startTime);
+    }
+
+    private AgentPlayer getAgentPlayer(Player player) {
+        for (AgentPlayer agentPlayer : this.agentPlayers) {
+            if (agentPlayer.getPlayer() == player) {
+                return agentPlayer;
+            }
+        }
+        throw new IllegalStateException("no agent plays " + player.getName());
+    }
+
+    @Override
+    public void turnStarted(Player player, TurnState turnState) {
+        this.player = player;
+        this.turnState = turnState;
+    }
+
+    @Override
+    public void scoreUpdate(Player player) {
+    }
+
+    @Override
+    public void gameEnded() {
+        this.hasEnded = true;
+    }
+}
@@ -0,0 +1,156 @@
+package net.basilcam.core;
+
+import net.basilcam.core.tiles.TestTileManager;
+import net.basilcam.core.tiles.Tile;
+import net.basilcam.core.tiles.TileCatalog;
+import net.basilcam.core.tiles.TileDefinition;
+import net.basilcam.core.tiles.TileManager;
+import net.basilcam.core.tiles.TileSectionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.StringReader;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoardTest {
+    private TestTileManager tileManager;
+    private Board board;
+
+    @BeforeEach
+    public void beforeEach() {
+        this.tileManager = new TestTileManager();
+        this.board = new Board(this.tileManager.getStartTile());
+    }
+
+    @Test
+    public void startTileShouldOpenFourFrontierSlots() {
+        assertThat(this.board.getFrontierSize()).isEqualTo(4);
+
+        FrontierSlot above = this.board.getFrontierSlot(0, 1);
+        assertThat(above).isNotNull();
+        assertThat(above.getRequiredType(Direction.DOWN)).isEqualTo(TileSectionType.CITY);
+        assertThat(above.getRequiredType(Direction.UP)).isNull();
+        assertThat(above.getAbuttingTileCount()).isEqualTo(1);
+
+        FrontierSlot right = this.board.getFrontierSlot(1, 0);
+        assertThat(right).isNotNull();
+        assertThat(right.getRequiredType(Direction.LEFT)).isEqualTo(TileSectionType.ROAD);
+    }
+
+    @Test
+    public void placingTileShouldCloseSlotAndConstrainNeighbours() {
+        Tile tile15 = this.tileManager.drawTileById(15);
+        this.board.placeTile(tile15, 1, 0);
+
+        assertThat(this.board.getFrontierSlot(1, 0)).isNull();
+        assertThat(this.board.getFrontierSize()).isEqualTo(6);
+
+        FrontierSlot corner = this.board.getFrontierSlot(1, 1);
+        assertThat(corner).isNotNull();
+        assertThat(corner.getRequiredType(Direction.DOWN)).isEqualTo(TileSectionType.FIELD);
+        assertThat(corner.getAbuttingTileCount()).isEqualTo(1);
+
+        Tile tile11 = this.tileManager.drawTileById(11);
+        tile11.rotateClockwise();
+        tile11.rotateClockwise();
+        this.board.placeTile(tile11, 0, 1);
+
+        assertThat(corner.getAbuttingTileCount()).isEqualTo(2);
+        assertThat(corner.getRequiredType(Direction.LEFT)).isEqualTo(TileSectionType.CITY);
+    }
+
+    @Test
+    public void frontierShouldMatchPlacementValidator() {
+        Tile tile15 = this.tileManager.drawTileById(15);
+        this.board.placeTile(tile15, 1, 0);
+        Tile tile2 = this.tileManager.drawTileById(2);
+        this.board.placeTile(tile2, 1, -1);
+        Tile tile10 = this.tileManager.drawTileById(10);
+        tile10.rotateClockwise();
+        this.board.placeTile(tile10, 0, -1);
+
+        for (int id = 1; id <= 24; id++) {
+            Tile tile = this.tileManager.drawTileById(id);
+            for (int rotation = 0; rotation < 4; rotation++) {
+                for (int x = -3; x <= 3; x++) {
+                    for (int y = -3; y <= 3; y++) {
+                        FrontierSlot slot = this.board.getFrontierSlot(x, y);
+                        boolean fits = slot != null && slot.fits(tile);
+                        assertThat(fits).isEqualTo(PlacementValidator.isValid(this.board, x, y, tile));
+                    }
+                }
+                tile.rotateClockwise();
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {1, 2, 3})
+    public void fittingIdsShouldFollowPlacementsAndDraws(long seed) {
+        Random random = new Random(seed);
+        TileManager deck = new TileManager(seed);
+        Board board = new Board(deck.getStartTile());
+        deck.addDeckListener(board::updateRemainingIds);
+
+        while (deck.hasMoreTiles()) {
+            Tile tile = deck.drawTile();
+            assertFittingIds(board, deck);
+
+            List<Placement> placements = PlacementGenerator.generateLegalPlacements(board, tile);
+            if (placements.isEmpty()) {
+                break;
+            }
+            Placement placement = placements.get(random.nextInt(placements.size()));
+            tile.rotateTo(placement.getClockWiseRotationCount());
+            board.placeTile(tile, placement.getXPosition(), placement.getYPosition());
+            assertFittingIds(board, deck);
+        }
+        assertThat(board.getDeadSlotCount()).isEqualTo(board.getFrontierSize());
+    }
+
+    @Test
+    public void fittingIdsShouldComeFromTheDecksCatalog() {
+        String json = "{\"tiles\": [{\"id\": 2, \"quantity\": 3, \"topSection\": \"road\", \"leftSection\": \"road\","
+                + " \"bottomSection\": \"road\", \"rightSection\": \"road\", \"centerSections\": [],"
+                + " \"hasCoatOfArms\": false}]}";
+        TileManager deck = new TileManager(TileCatalog.readFromJson(new StringReader(json)), new SplittableRandom(1));
+        Board board = new Board(deck.getStartTile(), deck.getCatalog());
+        deck.addDeckListener(board::updateRemainingIds);
+
+        // only crossroads are left, which fit beside the start tile's roads but not above its city or below its field
+        assertThat(board.getFrontierSlot(-1, 0).getFittingIds()).isEqualTo(1L << 2);
+        assertThat(board.getFrontierSlot(0, 1).isDead()).isTrue();
+        assertThat(board.getFrontierSlot(0, -1).isDead()).isTrue();
+        assertThat(board.getDeadSlotCount()).isEqualTo(2);
+
+        while (deck.hasMoreTiles()) {
+            deck.drawTile();
+        }
+        assertThat(board.getDeadSlotCount()).isEqualTo(4);
+    }
+
+    // recomputes every slot's fit set from scratch
+    private static void assertFittingIds(Board board, TileManager deck) {
+        int deadSlotCount = 0;
+        for (FrontierSlot slot : board.getFrontierSlots()) {
+            long fittingIds = 0;
+            for (TileDefinition definition : TileCatalog.getInstance().getDefinitions()) {
+                for (int rotation = 0; rotation < 4; rotation++) {
+                    if (deck.getRemainingCount(definition.getId()) > 0 && slot.fits(definition.getEdgeSignature(rotation))) {
+                        fittingIds |= 1L << definition.getId();
+                    }
+                }
+            }
+            assertThat(slot.getFittingIds()).isEqualTo(fittingIds);
+            assertThat(slot.isDead()).isEqualTo(fittingIds == 0);
+            deadSlotCount += slot.isDead() ? 1 : 0;
+        }
+        assertThat(board.getDeadSlotCount()).isEqualTo(deadSlotCount);
+    }
+}
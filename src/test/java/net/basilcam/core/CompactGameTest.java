@@ -0,0 +1,295 @@
+package net.basilcam.core;
+
+import net.basilcam.core.api.CarcassonneApi;
+import net.basilcam.core.api.TestTurnRecorder;
+import net.basilcam.core.tiles.Tile;
+import net.basilcam.core.tiles.TileDefinition;
+import net.basilcam.core.tiles.TileManager;
+import net.basilcam.core.tiles.TileSection;
+import net.basilcam.gui.PlayerColor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// plays seeded random games on CarcassonneApi and CompactGame side by side and checks they agree after every step
+class CompactGameTest {
+
+    @ParameterizedTest
+    @ValueSource(longs = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20})
+    public void shouldMatchCarcassonneApi(long seed) {
+        Random random = new Random(seed);
+        TileManager tileManager = new TileManager(seed);
+        CarcassonneApi api = new CarcassonneApi(tileManager);
+        TestTurnRecorder recorder = new TestTurnRecorder();
+        api.register(recorder);
+
+        int playerCount = CarcassonneApi.MIN_PLAYERS + random.nextInt(CarcassonneApi.MAX_PLAYERS - CarcassonneApi.MIN_PLAYERS + 1);
+        for (int player = 0; player < playerCount; player++) {
+            api.addPlayer("player" + player, PlayerColor.values()[player]);
+        }
+
+        CompactGame game = CompactGame.of(tileManager, playerCount);
+
+        api.startGame();
+        while (!recorder.hasEnded()) {
+            Tile tile = recorder.getTurnState().getTile();
+            assertThat(game.getCurrentTile()).isSameAs(tile.getDefinition());
+            assertThat(game.getCurrentPlayer()).isEqualTo(api.getPlayers().indexOf(recorder.getPlayer()));
+
+            List<Placement> placements = api.generateLegalPlacements(tile);
+            assertThat(getLegalPlacements(game)).containsExactlyInAnyOrderElementsOf(placements);
+            if (placements.isEmpty()) {
+                break;
+            }
+
+            Placement placement = placements.get(random.nextInt(placements.size()));
+            tile.rotateTo(placement.getClockWiseRotationCount());
+            assertThat(api.placeTile(tile, placement.getXPosition(), placement.getYPosition())).isTrue();
+            assertThat(game.placeTile(placement.getXPosition(), placement.getYPosition(),
+                    placement.getClockWiseRotationCount())).isTrue();
+
+            List<Integer> meepleSections = new ArrayList<>();
+            boolean hasMeeple = recorder.getPlayer().getMeeple().isPresent();
+            for (int section = 0; section < CompactGame.EDGE_SECTION_COUNT + tile.getCenterSections().size(); section++) {
+                TileSection tileSection = CompactGame.getTileSection(tile, section);
+                assertThat(game.getSectionType(section)).isEqualTo(tileSection.getType());
+
+                boolean canPlaceMeeple = hasMeeple && api.canPlaceMeeple(tile, tileSection);
+                assertThat(game.canPlaceMeeple(section)).isEqualTo(canPlaceMeeple);
+                if (canPlaceMeeple) {
+                    meepleSections.add(section);
+                }
+            }
+
+            if (!meepleSections.isEmpty() && random.nextBoolean()) {
+                int section = meepleSections.get(random.nextInt(meepleSections.size()));
+                assertThat(api.placeMeeple(tile, CompactGame.getTileSection(tile, section))).isTrue();
+                assertThat(game.placeMeeple(section)).isTrue();
+            }
+
+            api.scoreFeatures();
+            game.scoreFeatures();
+
+            List<Player> players = api.getPlayers();
+            for (int player = 0; player < playerCount; player++) {
+                assertThat(game.getScore(player)).isEqualTo(players.get(player).getScore());
+                assertThat(game.getMeeplesLeft(player)).isEqualTo((int) players.get(player).getNumberOfUnplacedMeeples());
+            }
+
+            api.nextTurn();
+            game.nextTurn();
+            assertThat(game.isEnded()).isEqualTo(recorder.hasEnded());
+        }
+
+        assertThat(game.getTileCount()).isGreaterThan(1);
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {1, 2, 3, 4, 5})
+    public void shouldRestoreStateOnUndo(long seed) {
+        Random random = new Random(seed);
+        CompactGame game = CompactGame.of(new TileManager(seed), 3);
+        List<String> history = new ArrayList<>();
+
+        while (!game.isEnded()) {
+            String state = describe(game);
+            List<Move> moves = game.generateLegalMoves();
+            if (moves.isEmpty()) {
+                break;
+            }
+
+            // every move must be undoable, then play one of them for real
+            for (Move move : moves) {
+                assertThat(game.apply(move)).isTrue();
+                game.undo();
+                assertThat(describe(game)).isEqualTo(state);
+            }
+
+            history.add(state);
+            assertThat(game.apply(moves.get(random.nextInt(moves.size())))).isTrue();
+        }
+
+        while (game.getMoveCount() > 0) {
+            game.undo();
+            assertThat(describe(game)).isEqualTo(history.remove(history.size() - 1));
+        }
+        assertThat(game.getTileCount()).isEqualTo(1);
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {1, 2, 3})
+    public void legalMovesShouldAllApply(long seed) {
+        Random random = new Random(seed);
+        CompactGame game = CompactGame.of(new TileManager(seed), 2);
+
+        int appliedMoves = 0;
+        for (int turn = 0; turn < 20; turn++) {
+            List<Move> moves = game.generateLegalMoves();
+            assertThat(moves).doesNotHaveDuplicates();
+            if (moves.isEmpty()) {
+                break;
+            }
+
+            Set<Placement> placements = new HashSet<>();
+            for (Move move : moves) {
+                placements.add(new Placement(move.getXPosition(), move.getYPosition(), move.getClockWiseRotationCount()));
+            }
+            assertThat(placements).isEqualTo(getLegalPlacements(game));
+
+            assertThat(game.apply(moves.get(random.nextInt(moves.size())))).isTrue();
+            appliedMoves++;
+        }
+
+        assertThat(game.apply(new Move(1000, 1000, 0, Move.NO_MEEPLE))).isFalse();
+        assertThat(game.getMoveCount()).isEqualTo(appliedMoves);
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {1, 2, 3})
+    public void forkShouldPlayIndependently(long seed) {
+        Random random = new Random(seed);
+        CompactGame game = CompactGame.of(new TileManager(seed), 4);
+        for (int turn = 0; turn < 15 && !game.generateLegalMoves().isEmpty(); turn++) {
+            List<Move> moves = game.generateLegalMoves();
+            game.apply(moves.get(random.nextInt(moves.size())));
+        }
+
+        String state = describe(game);
+        CompactGame fork = game.fork();
+        assertThat(describe(fork)).isEqualTo(state);
+        assertThat(fork.getMoveCount()).isEqualTo(0);
+
+        // playing the same moves keeps both in step, playing on the fork leaves the original alone
+        CompactGame anotherFork = game.fork();
+        while (!fork.isEnded() && !fork.generateLegalMoves().isEmpty()) {
+            List<Move> moves = fork.generateLegalMoves();
+            Move move = moves.get(random.nextInt(moves.size()));
+            assertThat(fork.apply(move)).isTrue();
+            assertThat(anotherFork.apply(move)).isTrue();
+            assertThat(describe(anotherFork)).isEqualTo(describe(fork));
+        }
+        assertThat(describe(game)).isEqualTo(state);
+
+        while (fork.getMoveCount() > 0) {
+            fork.undo();
+        }
+        assertThat(describe(fork)).isEqualTo(state);
+    }
+
+    @Test
+    public void shuffleShouldKeepCurrentAndRemainingTiles() {
+        CompactGame game = CompactGame.of(new TileManager(1), 2);
+        game.apply(game.generateLegalMoves().get(0));
+        List<TileDefinition> remainingTiles = game.getRemainingTiles();
+        CompactGame fork = game.fork();
+
+        fork.shuffleRemainingTiles(new Random(2));
+
+        assertThat(fork.getCurrentTile()).isSameAs(game.getCurrentTile());
+        assertThat(fork.getRemainingTiles())
+                .containsExactlyInAnyOrderElementsOf(remainingTiles)
+                .isNotEqualTo(remainingTiles);
+        assertThat(game.getRemainingTiles()).isEqualTo(remainingTiles);
+    }
+
+    @Test
+    public void discardShouldDrawNextTileForSamePlayer() {
+        CompactGame game = CompactGame.of(new TileManager(1), 2);
+        Move move = game.generateLegalMoves().get(0);
+        game.apply(move);
+        TileDefinition currentTile = game.getCurrentTile();
+        List<TileDefinition> remainingTiles = game.getRemainingTiles();
+
+        game.discardTile();
+        assertThat(game.getCurrentTile()).isSameAs(remainingTiles.get(0));
+        assertThat(game.getCurrentPlayer()).isEqualTo(1);
+        assertThat(game.getRemainingTiles()).isEqualTo(remainingTiles.subList(1, remainingTiles.size()));
+
+        game.undo();
+        game.apply(move);
+        assertThat(game.getCurrentTile()).isSameAs(currentTile);
+        assertThat(game.getRemainingTiles()).isEqualTo(remainingTiles);
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {1, 2, 3, 4, 5})
+    public void snapshotShouldPlayLikeTheMirroredGame(long seed) {
+        Random random = new Random(seed);
+        TileManager tileManager = new TileManager(seed);
+        CarcassonneApi api = new CarcassonneApi(tileManager);
+        TestTurnRecorder recorder = new TestTurnRecorder();
+        api.register(recorder);
+        for (int player = 0; player < 3; player++) {
+            api.addPlayer("player" + player, PlayerColor.values()[player]);
+        }
+
+        CompactGame game = CompactGame.of(tileManager, 3);
+
+        // moves with meeples are preferred so the snapshot has some to restore
+        api.startGame();
+        for (int turn = 0; turn < 30 && !game.generateLegalMoves().isEmpty(); turn++) {
+            List<Move> moves = game.generateLegalMoves();
+            Move move = moves.get(moves.size() - 1 - random.nextInt(Math.min(2, moves.size())));
+            assertThat(game.apply(move)).isTrue();
+
+            Tile tile = recorder.getTurnState().getTile();
+            tile.rotateTo(move.getClockWiseRotationCount());
+            assertThat(api.placeTile(tile, move.getXPosition(), move.getYPosition())).isTrue();
+            if (move.hasMeeple()) {
+                assertThat(api.placeMeeple(tile, CompactGame.getTileSection(tile, move.getMeepleSection()))).isTrue();
+            }
+            api.scoreFeatures();
+            api.nextTurn();
+        }
+
+        CompactGame snapshot = api.toCompactGame();
+        assertThat(snapshot.getMoveCount()).isEqualTo(0);
+        assertThat(snapshot.getMeeplesLeft(0) + snapshot.getMeeplesLeft(1) + snapshot.getMeeplesLeft(2))
+                .isLessThan(3 * Player.MEEPLE_PER_PLAYER);
+        while (true) {
+            assertThat(snapshot.getCurrentPlayer()).isEqualTo(game.getCurrentPlayer());
+            assertThat(snapshot.getCurrentTile()).isSameAs(game.getCurrentTile());
+            assertThat(snapshot.getRemainingTiles()).isEqualTo(game.getRemainingTiles());
+            assertThat(snapshot.getTileCount()).isEqualTo(game.getTileCount());
+            assertThat(snapshot.getFrontierSize()).isEqualTo(game.getFrontierSize());
+            for (int player = 0; player < 3; player++) {
+                assertThat(snapshot.getScore(player)).isEqualTo(game.getScore(player));
+                assertThat(snapshot.getMeeplesLeft(player)).isEqualTo(game.getMeeplesLeft(player));
+            }
+
+            // the frontier may be in another order, so only the set of moves has to match
+            List<Move> moves = game.generateLegalMoves();
+            assertThat(snapshot.generateLegalMoves()).containsExactlyInAnyOrderElementsOf(moves);
+            if (game.isEnded() || moves.isEmpty()) {
+                break;
+            }
+            Move move = moves.get(random.nextInt(moves.size()));
+            assertThat(snapshot.apply(move)).isTrue();
+            assertThat(game.apply(move)).isTrue();
+        }
+    }
+
+    private static String describe(CompactGame game) {
+        StringBuilder builder = new StringBuilder()
+                .append(game.getCurrentPlayer()).append(' ')
+                .append(game.getCurrentTile()).append(' ')
+                .append(game.getRemainingTileCount()).append(' ')
+                .append(game.getTileCount()).append(' ')
+                .append(game.getFrontierSize());
+        for (int player = 0; player < game.getPlayerCount(); player++) {
+            builder.append(' ').append(game.getScore(player)).append('/').append(game.getMeeplesLeft(player));
+        }
+        return builder.append(' ').append(game.generateLegalMoves()).toString();
+    }
+
+    private static Set<Placement> getLegalPlacements(CompactGame game) {
+        Set<Placement> placements = new HashSet<>();
+        game.forEachLegalPlacement((xPosition, yPosition, rotation) ->
+                assertThat(placements.add(new Placement(xPosition, yPosition, rotation))).isTrue());
+        return placements;
+    }
+}
@@ -0,0 +1,77 @@
+package net.basilcam.core;
+
+import net.basilcam.core.tiles.TestTileManager;
+import net.basilcam.core.tiles.Tile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PlacementGeneratorTest {
+    private TestTileManager tileManager;
+    private Board board;
+
+    @BeforeEach
+    public void beforeEach() {
+        this.tileManager = new TestTileManager();
+        this.board = new Board(this.tileManager.getStartTile());
+    }
+
+    @Test
+    public void symmetricTilesShouldOnlyHaveDistinctRotations() {
+        assertThat(PlacementGenerator.getDistinctRotations(this.tileManager.drawTileById(1))).isEqualTo(0b0001);
+        assertThat(PlacementGenerator.getDistinctRotations(this.tileManager.drawTileById(2))).isEqualTo(0b0001);
+        assertThat(PlacementGenerator.getDistinctRotations(this.tileManager.drawTileById(10))).isEqualTo(0b0011);
+        assertThat(PlacementGenerator.getDistinctRotations(this.tileManager.drawTileById(15))).isEqualTo(0b1111);
+    }
+
+    @Test
+    public void shouldGeneratePlacementsForStartTileWithoutRotatingTile() {
+        Tile tile1 = this.tileManager.drawTileById(1);
+
+        List<Placement> placements = PlacementGenerator.generateLegalPlacements(this.board, tile1);
+
+        assertThat(placements).containsExactly(new Placement(0, 1, 0));
+        assertThat(tile1.getClockWiseRotationCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void shouldMatchPlacementValidatorOverEveryTileAndRotation() {
+        Tile tile15 = this.tileManager.drawTileById(15);
+        this.board.placeTile(tile15, 1, 0);
+        Tile tile2 = this.tileManager.drawTileById(2);
+        this.board.placeTile(tile2, 1, -1);
+        Tile tile10 = this.tileManager.drawTileById(10);
+        tile10.rotateClockwise();
+        this.board.placeTile(tile10, 0, -1);
+
+        for (int id = 1; id <= 24; id++) {
+            Tile tile = this.tileManager.drawTileById(id);
+            int distinctRotations = PlacementGenerator.getDistinctRotations(tile);
+
+            Set<Placement> expected = new HashSet<>();
+            for (int rotation = 0; rotation < PlacementGenerator.ROTATION_COUNT; rotation++) {
+                tile.rotateTo(rotation);
+                if ((distinctRotations & (1 << rotation)) == 0) {
+                    continue;
+                }
+                for (int x = -3; x <= 3; x++) {
+                    for (int y = -3; y <= 3; y++) {
+                        if (PlacementValidator.isValid(this.board, x, y, tile)) {
+                            expected.add(new Placement(x, y, rotation));
+                        }
+                    }
+                }
+            }
+            tile.rotateTo(0);
+
+            List<Placement> placements = PlacementGenerator.generateLegalPlacements(this.board, tile);
+            assertThat(placements).doesNotHaveDuplicates();
+            assertThat(placements).containsExactlyInAnyOrderElementsOf(expected);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package net.basilcam.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PositionMapTest {
+
+    @Test
+    public void shouldPackAndUnpackNegativeCoordinates() {
+        long position = Position.pack(-3, -7);
+
+        assertThat(Position.getX(position)).isEqualTo(-3);
+        assertThat(Position.getY(position)).isEqualTo(-7);
+        assertThat(Position.pack(-3, 7)).isNotEqualTo(position);
+    }
+
+    @Test
+    public void shouldPutGetAndReplace() {
+        PositionMap<String> map = new PositionMap<>();
+
+        assertThat(map.put(Position.pack(0, 0), "a")).isNull();
+        assertThat(map.put(Position.pack(0, 1), "b")).isNull();
+        assertThat(map.put(Position.pack(0, 0), "c")).isEqualTo("a");
+
+        assertThat(map.size()).isEqualTo(2);
+        assertThat(map.get(0, 0)).isEqualTo("c");
+        assertThat(map.get(0, 1)).isEqualTo("b");
+        assertThat(map.get(1, 0)).isNull();
+    }
+
+    @Test
+    public void shouldMatchHashMapUnderRandomPutsAndRemoves() {
+        PositionMap<Integer> map = new PositionMap<>(4);
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 20000; i++) {
+            long position = Position.pack(random.nextInt(41) - 20, random.nextInt(41) - 20);
+            if (random.nextInt(3) == 0) {
+                assertThat(map.remove(position)).isEqualTo(expected.remove(position));
+            } else {
+                assertThat(map.put(position, i)).isEqualTo(expected.put(position, i));
+            }
+        }
+
+        assertThat(map.size()).isEqualTo(expected.size());
+        for (Map.Entry<Long, Integer> entry : expected.entrySet()) {
+            assertThat(map.get(entry.getKey())).isEqualTo(entry.getValue());
+        }
+
+        Map<Long, Integer> visited = new HashMap<>();
+        map.forEach(visited::put);
+        assertThat(visited).isEqualTo(expected);
+    }
+}
@@ -0,0 +1,45 @@
+package net.basilcam.core;
+
+import net.basilcam.core.tiles.TestTileManager;
+import net.basilcam.core.tiles.Tile;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SignaturePlacementValidatorTest {
+
+    @Test
+    public void shouldAgreeWithPlacementValidatorOnRandomBoards() {
+        for (int seed = 0; seed < 5; seed++) {
+            Random random = new Random(seed);
+            TestTileManager tileManager = new TestTileManager();
+            Board board = new Board(tileManager.getStartTile());
+
+            for (int turn = 0; turn < 30; turn++) {
+                Tile tile = tileManager.drawTileById(1 + random.nextInt(24));
+                List<Placement> placements = PlacementGenerator.generateLegalPlacements(board, tile);
+                if (!placements.isEmpty()) {
+                    Placement placement = placements.get(random.nextInt(placements.size()));
+                    tile.rotateTo(placement.getClockWiseRotationCount());
+                    board.placeTile(tile, placement.getXPosition(), placement.getYPosition());
+                }
+            }
+
+            for (int id = 1; id <= 24; id++) {
+                Tile tile = tileManager.drawTileById(id);
+                for (int rotation = 0; rotation < 4; rotation++) {
+                    for (int x = -8; x <= 8; x++) {
+                        for (int y = -8; y <= 8; y++) {
+                            assertThat(SignaturePlacementValidator.isValid(board, x, y, tile))
+                                    .isEqualTo(PlacementValidator.isValid(board, x, y, tile));
+                        }
+                    }
+                    tile.rotateClockwise();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package net.basilcam.core;
+
+import net.basilcam.core.tiles.TestTileManager;
+import net.basilcam.core.tiles.Tile;
+import net.basilcam.core.tiles.TileManager;
+import net.basilcam.core.tiles.TileSection;
+import net.basilcam.gui.PlayerColor;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ZobristHashTest {
+
+    @Test
+    public void boardHashShouldNotDependOnPlacementOrder() {
+        TestTileManager tileManager = new TestTileManager();
+        Board board = new Board(tileManager.getStartTile());
+        Board anotherBoard = new Board(tileManager.getStartTile());
+        long startHash = board.getHash();
+
+        Tile tile15 = tileManager.drawTileById(15);
+        Tile tile11 = tileManager.drawTileById(11);
+        tile11.rotateTo(2);
+        board.placeTile(tile15, 1, 0);
+        board.placeTile(tile11, 0, 1);
+        assertThat(board.getHash()).isNotEqualTo(startHash);
+
+        Tile anotherTile15 = tileManager.drawTileById(15);
+        Tile anotherTile11 = tileManager.drawTileById(11);
+        anotherTile11.rotateTo(2);
+        anotherBoard.placeTile(anotherTile11, 0, 1);
+        anotherBoard.placeTile(anotherTile15, 1, 0);
+        assertThat(anotherBoard.getHash()).isEqualTo(board.getHash());
+    }
+
+    @Test
+    public void boardHashShouldDependOnRotation() {
+        TestTileManager tileManager = new TestTileManager();
+        Board board = new Board(tileManager.getStartTile());
+        Board anotherBoard = new Board(tileManager.getStartTile());
+
+        board.placeTile(tileManager.drawTileById(15), 1, 0);
+        Tile tile15 = tileManager.drawTileById(15);
+        tile15.rotateClockwise();
+        anotherBoard.placeTile(tile15, 1, 0);
+
+        assertThat(anotherBoard.getHash()).isNotEqualTo(board.getHash());
+    }
+
+    @Test
+    public void removingMeepleShouldRestoreHash() {
+        TestTileManager tileManager = new TestTileManager();
+        Board board = new Board(tileManager.getStartTile());
+        Tile tile15 = tileManager.drawTileById(15);
+        board.placeTile(tile15, 1, 0);
+        long hash = board.getHash();
+
+        PlayerManager playerManager = new PlayerManager();
+        Player red = playerManager.addPlayer("red", PlayerColor.RED);
+        Player blue = playerManager.addPlayer("blue", PlayerColor.BLUE);
+
+        TileSection section = tile15.getSection(Direction.LEFT);
+        board.placeMeeple(section, red.getMeeple().get());
+        long redHash = board.getHash();
+        assertThat(redHash).isNotEqualTo(hash);
+
+        board.removeMeeple(section);
+        assertThat(board.getHash()).isEqualTo(hash);
+
+        board.placeMeeple(section, blue.getMeeple().get());
+        assertThat(board.getHash()).isNotEqualTo(hash).isNotEqualTo(redHash);
+        board.removeMeeple(section);
+        assertThat(board.getHash()).isEqualTo(hash);
+    }
+
+    @Test
+    public void meepleShouldOnlyUpdateTheBoardItIsPlacedOn() {
+        TestTileManager tileManager = new TestTileManager();
+        Board board = new Board(tileManager.getStartTile());
+        Board anotherBoard = new Board(tileManager.getStartTile());
+        long hash = board.getHash();
+        long anotherHash = anotherBoard.getHash();
+
+        PlayerManager playerManager = new PlayerManager();
+        Player red = playerManager.addPlayer("red", PlayerColor.RED);
+        TileSection section = tileManager.getStartTile().getSection(Direction.LEFT);
+        board.placeMeeple(section, red.getMeeple().get());
+        assertThat(board.getHash()).isNotEqualTo(hash);
+        assertThat(anotherBoard.getHash()).isEqualTo(anotherHash);
+
+        board.removeMeeple(section);
+        assertThat(board.getHash()).isEqualTo(hash);
+        assertThat(anotherBoard.getHash()).isEqualTo(anotherHash);
+    }
+
+    @Test
+    public void placingMeepleShouldRequireTheTileOnTheBoard() {
+        TestTileManager tileManager = new TestTileManager();
+        Board board = new Board(tileManager.getStartTile());
+        PlayerManager playerManager = new PlayerManager();
+        Player red = playerManager.addPlayer("red", PlayerColor.RED);
+
+        Tile tile15 = tileManager.drawTileById(15);
+        assertThatThrownBy(() -> board.placeMeeple(tile15.getSection(Direction.LEFT), red.getMeeple().get()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void playerHashShouldTrackScoresAndCurrentPlayer() {
+        PlayerManager playerManager = new PlayerManager();
+        Player red = playerManager.addPlayer("red", PlayerColor.RED);
+        Player blue = playerManager.addPlayer("blue", PlayerColor.BLUE);
+        long startHash = playerManager.getHash();
+
+        red.addScore(4);
+        blue.addScore(2);
+        long scoredHash = playerManager.getHash();
+        assertThat(scoredHash).isNotEqualTo(startHash);
+
+        PlayerManager anotherPlayerManager = new PlayerManager();
+        Player anotherRed = anotherPlayerManager.addPlayer("red", PlayerColor.RED);
+        Player anotherBlue = anotherPlayerManager.addPlayer("blue", PlayerColor.BLUE);
+        anotherBlue.addScore(2);
+        anotherRed.addScore(1);
+        anotherRed.addScore(3);
+        assertThat(anotherPlayerManager.getHash()).isEqualTo(scoredHash);
+
+        playerManager.nextTurn();
+        assertThat(playerManager.getHash()).isNotEqualTo(scoredHash);
+        playerManager.nextTurn();
+        assertThat(playerManager.getHash()).isEqualTo(scoredHash);
+    }
+
+    @Test
+    public void deckHashShouldTrackRemainingTiles() {
+        TileManager tileManager = new TileManager(1);
+        TileManager anotherTileManager = new TileManager(2);
+        assertThat(anotherTileManager.getHash()).isEqualTo(tileManager.getHash());
+
+        long hash = tileManager.getHash();
+        tileManager.drawTile();
+        assertThat(tileManager.getHash()).isNotEqualTo(hash);
+
+        // drawing every tile empties both decks the same way, whatever the order
+        while (tileManager.hasMoreTiles()) {
+            tileManager.drawTile();
+        }
+        while (anotherTileManager.hasMoreTiles()) {
+            anotherTileManager.drawTile();
+        }
+        assertThat(anotherTileManager.getHash()).isEqualTo(tileManager.getHash());
+    }
+}
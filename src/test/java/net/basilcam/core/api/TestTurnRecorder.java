@@ -0,0 +1,38 @@
+package net.basilcam.core.api;
+
+import net.basilcam.core.Player;
+import net.basilcam.core.TurnState;
+
+// remembers the turn in progress, for tests that play through CarcassonneApi
+public class TestTurnRecorder implements CarcassonneHandler {
+    private Player player;
+    private TurnState turnState;
+    private boolean hasEnded;
+
+    public Player getPlayer() {
+        return this.player;
+    }
+
+    public TurnState getTurnState() {
+        return this.turnState;
+    }
+
+    public boolean hasEnded() {
+        return this.hasEnded;
+    }
+
+    @Override
+    public void turnStarted(Player player, TurnState turnState) {
+        this.player = player;
+        this.turnState = turnState;
+    }
+
+    @Override
+    public void scoreUpdate(Player player) {
+    }
+
+    @Override
+    public void gameEnded() {
+        this.hasEnded = true;
+    }
+}
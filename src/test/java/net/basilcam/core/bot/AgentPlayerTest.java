@@ -0,0 +1,63 @@
+package net.basilcam.core.bot;
+
+import net.basilcam.core.Player;
+import net.basilcam.core.api.CarcassonneApi;
+import net.basilcam.core.api.TestTurnRecorder;
+import net.basilcam.core.tiles.TileManager;
+import net.basilcam.gui.PlayerColor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AgentPlayerTest {
+
+    @ParameterizedTest
+    @ValueSource(longs = {1, 2, 3})
+    public void agentsShouldPlayWholeApiGame(long seed) {
+        CarcassonneApi api = new CarcassonneApi(new TileManager(seed));
+        TestTurnRecorder recorder = new TestTurnRecorder();
+        api.register(recorder);
+
+        // players hash by their score, which changes during the game
+        Map<Player, AgentPlayer> agentPlayers = new IdentityHashMap<>();
+        for (PlayerColor color : new PlayerColor[] {PlayerColor.RED, PlayerColor.BLUE}) {
+            Player player = api.addPlayer(color.name(), color);
+            agentPlayers.put(player, new AgentPlayer(api, player, new RandomAgent(new Random(seed + color.ordinal()))));
+        }
+
+        api.startGame();
+        int turnCount = 0;
+        while (!recorder.hasEnded()) {
+            AgentPlayer agentPlayer = agentPlayers.get(recorder.getPlayer());
+            if (!agentPlayer.playTurn(recorder.getPlayer(), recorder.getTurnState())) {
+                break;
+            }
+            assertThat(recorder.getTurnState().hasScored()).isTrue();
+            api.nextTurn();
+            turnCount++;
+        }
+        assertThat(turnCount).isGreaterThan(1);
+    }
+
+    @Test
+    public void shouldOnlyPlayOwnTurn() {
+        CarcassonneApi api = new CarcassonneApi(new TileManager(1));
+        TestTurnRecorder recorder = new TestTurnRecorder();
+        api.register(recorder);
+        Player red = api.addPlayer("red", PlayerColor.RED);
+        Player blue = api.addPlayer("blue", PlayerColor.BLUE);
+        api.startGame();
+
+        AgentPlayer agentPlayer = new AgentPlayer(api, blue, new RandomAgent(new Random(1)));
+        assertThat(recorder.getPlayer()).isEqualTo(red);
+        assertThatThrownBy(() -> agentPlayer.playTurn(red, recorder.getTurnState()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
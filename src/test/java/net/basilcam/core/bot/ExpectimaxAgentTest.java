@@ -0,0 +1,99 @@
+package net.basilcam.core.bot;
+
+import net.basilcam.core.CompactGame;
+import net.basilcam.core.Move;
+import net.basilcam.core.tiles.TileDefinition;
+import net.basilcam.core.tiles.TileManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class ExpectimaxAgentTest {
+    private static final Evaluation EVALUATION = new ScoreEvaluation();
+
+    @Test
+    public void shouldChooseLegalMoveWithoutChangingGame() {
+        CompactGame game = CompactGame.of(new TileManager(1), 2);
+        ExpectimaxAgent agent = new ExpectimaxAgent(EVALUATION, Duration.ofMillis(50));
+        List<Move> moves = game.generateLegalMoves();
+
+        Move move = agent.chooseMove(game);
+
+        assertThat(moves).contains(move);
+        assertThat(game.generateLegalMoves()).isEqualTo(moves);
+        assertThat(game.getMoveCount()).isEqualTo(0);
+        assertThat(agent.getCompletedDepth()).isGreaterThanOrEqualTo(1);
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {1, 2, 4})
+    public void prunedSearchShouldMatchFullExpectimax(long seed) {
+        Random random = new Random(seed);
+        CompactGame game = CompactGame.of(new TileManager(seed), 2);
+        while (game.getRemainingTileCount() > 3) {
+            List<Move> moves = game.generateLegalMoves();
+            if (moves.isEmpty()) {
+                return;
+            }
+            game.apply(moves.get(random.nextInt(moves.size())));
+        }
+
+        ExpectimaxAgent agent = new ExpectimaxAgent(EVALUATION, Duration.ofSeconds(1));
+        List<TileDefinition> remainingTiles = game.getRemainingTiles();
+        for (int depth = 1; depth <= 3; depth++) {
+            double expectedValue = expectimax(game.fork(), depth, game.getCurrentPlayer());
+            assertThat(agent.getValue(game, depth)).isCloseTo(expectedValue, within(1e-9));
+            assertThat(game.getRemainingTiles()).isEqualTo(remainingTiles);
+        }
+    }
+
+    // a plain expectimax to check the pruning against
+    private static double expectimax(CompactGame game, int depth, int rootPlayer) {
+        if (depth == 0 || game.isEnded()) {
+            return EVALUATION.evaluate(game, rootPlayer);
+        }
+        List<Move> moves = game.generateLegalMoves();
+        if (moves.isEmpty()) {
+            return EVALUATION.evaluate(game, rootPlayer);
+        }
+
+        boolean isMax = game.getCurrentPlayer() == rootPlayer;
+        double bestValue = isMax ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        for (Move move : moves) {
+            double value = expectation(game, move, depth - 1, rootPlayer);
+            bestValue = isMax ? Math.max(bestValue, value) : Math.min(bestValue, value);
+        }
+        return bestValue;
+    }
+
+    private static double expectation(CompactGame game, Move move, int depth, int rootPlayer) {
+        int remainingTileCount = game.getRemainingTileCount();
+        if (depth == 0 || remainingTileCount == 0) {
+            assertThat(game.apply(move)).isTrue();
+            double value = expectimax(game, depth, rootPlayer);
+            game.undo();
+            return value;
+        }
+
+        int[] counts = new int[game.getDefinitionCount()];
+        game.countRemainingTiles(counts);
+        double value = 0;
+        for (int definition = 0; definition < counts.length; definition++) {
+            if (counts[definition] == 0) {
+                continue;
+            }
+            game.setNextTile(definition);
+            assertThat(game.apply(move)).isTrue();
+            value += (double) counts[definition] / remainingTileCount * expectimax(game, depth, rootPlayer);
+            game.undo();
+        }
+        return value;
+    }
+}
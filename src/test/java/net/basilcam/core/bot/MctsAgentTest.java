@@ -0,0 +1,95 @@
+package net.basilcam.core.bot;
+
+import net.basilcam.core.CompactGame;
+import net.basilcam.core.Move;
+import net.basilcam.core.Placement;
+import net.basilcam.core.api.CarcassonneApi;
+import net.basilcam.core.api.TestTurnRecorder;
+import net.basilcam.core.tiles.TileManager;
+import net.basilcam.gui.PlayerColor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MctsAgentTest {
+    private ForkJoinPool pool;
+
+    @BeforeEach
+    public void beforeEach() {
+        this.pool = new ForkJoinPool(2);
+    }
+
+    @AfterEach
+    public void afterEach() {
+        this.pool.shutdown();
+    }
+
+    @Test
+    public void shouldChooseLegalMoveWithoutChangingGame() {
+        CompactGame game = CompactGame.of(new TileManager(1), 2);
+        MctsAgent agent = new MctsAgent(Duration.ofMillis(50), this.pool);
+        List<Move> moves = game.generateLegalMoves();
+
+        Move move = agent.chooseMove(game);
+
+        assertThat(moves).contains(move);
+        assertThat(game.generateLegalMoves()).isEqualTo(moves);
+        assertThat(game.getMoveCount()).isEqualTo(0);
+        assertThat(agent.getRolloutCount()).isGreaterThan(0);
+    }
+
+    @Test
+    public void shouldPlayWholeGame() {
+        CompactGame game = CompactGame.of(new TileManager(2), 3);
+        MctsAgent agent = new MctsAgent(Duration.ofMillis(2), this.pool);
+
+        while (!game.isEnded()) {
+            Move move = agent.chooseMove(game);
+            if (move == null) {
+                assertThat(game.generateLegalMoves()).isEmpty();
+                break;
+            }
+            assertThat(game.apply(move)).isTrue();
+        }
+        assertThat(game.getTileCount()).isGreaterThan(1);
+    }
+
+    // tiles that fit nowhere are discarded rather than ending the rollout early
+    @ParameterizedTest
+    @ValueSource(longs = {1, 2, 3, 4, 5})
+    public void rolloutShouldPlayToTheEnd(long seed) {
+        CompactGame game = CompactGame.of(new TileManager(seed), 2);
+
+        new MctsAgent.Rollout(new Random(seed)).play(game);
+
+        assertThat(game.isEnded()).isTrue();
+        assertThat(game.getRemainingTileCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void shouldChooseLegalMoveOnCarcassonneApi() {
+        CarcassonneApi api = new CarcassonneApi(new TileManager(3));
+        TestTurnRecorder recorder = new TestTurnRecorder();
+        api.register(recorder);
+        api.addPlayer("red", PlayerColor.RED);
+        api.addPlayer("blue", PlayerColor.BLUE);
+        api.startGame();
+        long hash = api.getHash();
+
+        Move move = new MctsAgent(Duration.ofMillis(50), this.pool).chooseMove(api);
+
+        assertThat(move).isNotNull();
+        assertThat(api.generateLegalPlacements(recorder.getTurnState().getTile()))
+                .contains(new Placement(move.getXPosition(), move.getYPosition(), move.getClockWiseRotationCount()));
+        assertThat(api.getHash()).isEqualTo(hash);
+    }
+}
@@ -24,7 +24,7 @@ class CompositeFeatureManagerTest {
         this.playerManager = new PlayerManager();
         this.tileManager = new TestTileManager();
         this.board = new Board(this.tileManager.getStartTile());
-        this.featureManager = new CompositeFeatureManager(this.playerManager, this.tileManager.getTileManager(), this.board);
+        this.featureManager = new CompositeFeatureManager(this.playerManager, this.board);
 
         this.player = this.playerManager.addPlayer("cam", PlayerColor.RED);
     }
@@ -127,7 +127,7 @@ class CompositeFeatureManagerTest {
         assertThat(this.featureManager.canPlaceMeeple(tile, tileSection)).isTrue();
         Optional<Meeple> meeple = this.player.getMeeple();
         assertThat(meeple).isPresent();
-        tileSection.placeMeeple(meeple.get());
+        this.board.placeMeeple(tileSection, meeple.get());
     }
 
     private void assertFeatureCount(int count) {
@@ -25,7 +25,7 @@ public class GraphFeatureManagerTest {
         this.playerManager = new PlayerManager();
         this.tileManager = new TestTileManager();
         this.board = new Board(this.tileManager.getStartTile());
-        this.featureManager = new GraphFeatureManager(this.playerManager, this.tileManager.getTileManager(), this.board);
+        this.featureManager = new GraphFeatureManager(this.playerManager, this.board);
 
         this.player1 = this.playerManager.addPlayer("cam", PlayerColor.RED);
         this.player2 = this.playerManager.addPlayer("basil", PlayerColor.YELLOW);
@@ -151,6 +151,73 @@ public class GraphFeatureManagerTest {
         assertFeature(TileSectionType.ROAD, 1, true);
     }
 
+    @Test
+    public void shouldResolveMergedSectionsToSameFeature() {
+        Tile tile15 = tileManager.drawTileById(15);
+        placeTileAndUpdate(tile15, 1, 0);
+
+        Tile tile15_2 = tileManager.drawTileById(15);
+        tile15_2.rotateClockwise();
+        placeTileAndUpdate(tile15_2, 1, -1);
+
+        Tile tile10 = tileManager.drawTileById(10);
+        tile10.rotateClockwise();
+        placeTileAndUpdate(tile10, 0, -1);
+
+        Tile tile15_3 = tileManager.drawTileById(15);
+        tile15_3.rotateClockwise();
+        tile15_3.rotateClockwise();
+        placeTileAndUpdate(tile15_3, -1, -1);
+
+        GraphFeature road = this.featureManager.getFeature(tile15.getLeftSection());
+        assertThat(road).isNotNull();
+        assertThat(this.featureManager.getFeature(tileManager.getStartTile().getRightSection())).isSameAs(road);
+        assertThat(this.featureManager.getFeature(tile10.getRightSection())).isSameAs(road);
+        assertThat(this.featureManager.getFeature(tile15_3.getCenterSections().get(0))).isSameAs(road);
+        assertThat(road.getTileSections()).contains(tile15_2.getTopSection(), tile10.getLeftSection());
+        assertThat(this.featureManager.getFeature(tile10.getTopSection())).isNull();
+    }
+
+    @Test
+    public void shouldCountDistinctTiles_roadLoopingThroughCrossroads() {
+        Tile tile15 = tileManager.drawTileById(15);
+        placeTileAndUpdate(tile15, 1, 0);
+
+        Tile tile2 = tileManager.drawTileById(2);
+        placeTileAndUpdate(tile2, 1, -1);
+
+        GraphFeature road = this.featureManager.getFeature(tileManager.getStartTile().getRightSection());
+        assertThat(road).isNotNull();
+        assertThat(road.getTileCount()).isEqualTo(3);
+        assertThat(road.currentValue()).isEqualTo(3 * GraphFeature.ROAD_POINTS_PER_TILE);
+
+        Tile tile10 = tileManager.drawTileById(10);
+        tile10.rotateClockwise();
+        placeTileAndUpdate(tile10, 0, -1);
+
+        Tile tile15_2 = tileManager.drawTileById(15);
+        tile15_2.rotateClockwise();
+        tile15_2.rotateClockwise();
+        placeTileAndUpdate(tile15_2, -1, -1);
+
+        Tile tile14 = tileManager.drawTileById(14);
+        placeTileAndUpdate(tile14, -1, 0);
+
+        road = this.featureManager.getFeature(tileManager.getStartTile().getRightSection());
+        assertThat(road).isNotNull();
+        assertThat(this.featureManager.getFeature(tile2.getLeftSection())).isSameAs(road);
+        assertThat(road.isComplete()).isTrue();
+        assertThat(road.getTileCount()).isEqualTo(6);
+        assertThat(road.currentValue()).isEqualTo(6 * GraphFeature.ROAD_POINTS_PER_TILE);
+
+        GraphFeature city = this.featureManager.getFeature(tile14.getTopSection());
+        assertThat(city).isNotNull();
+        assertThat(city.getTileCount()).isEqualTo(1);
+        assertThat(city.getCoatOfArmsCount()).isEqualTo(1);
+        assertThat(city.currentValue())
+                .isEqualTo(GraphFeature.CITY_POINTS_PER_TILE + GraphFeature.COAT_OF_ARMS_POINTS_PER_TILE);
+    }
+
     @Test
     public void shouldNotAllowPlacingMeepleOnRoadWithExistingMeeple() {
         Tile tile10 = tileManager.drawTileById(10);
@@ -382,13 +449,53 @@ public class GraphFeatureManagerTest {
         assertThat(this.player2.getScore()).isEqualTo(0);
     }
 
+    @Test
+    public void shouldTallyMeeplesAcrossMergedFeatures() {
+        Tile tileTemp1 = tileManager.drawTileById(15);
+        tileTemp1.rotateClockwise();
+        tileTemp1.rotateClockwise();
+        tileTemp1.rotateClockwise();
+        placeTileAndUpdate(tileTemp1, -1, 0);
+
+        Tile tileTemp2 = tileManager.drawTileById(15);
+        placeTileAndUpdate(tileTemp2, 1, 0);
+
+        Tile tile20_1 = tileManager.drawTileById(20);
+        tile20_1.rotateClockwise();
+        placeTileAndUpdate(tile20_1, -1, 1);
+        placeMeeple(tile20_1, tile20_1.getRightSection(), this.player1);
+
+        Tile tile20_2 = tileManager.drawTileById(20);
+        tile20_2.rotateClockwise();
+        tile20_2.rotateClockwise();
+        tile20_2.rotateClockwise();
+        placeTileAndUpdate(tile20_2, 1, 1);
+        placeMeeple(tile20_2, tile20_2.getLeftSection(), this.player2);
+
+        GraphFeature leftCity = this.featureManager.getFeature(tile20_1.getRightSection());
+        assertThat(leftCity).isNotNull();
+        assertThat(leftCity.getMeepleCount(this.player1)).isEqualTo(1);
+        assertThat(leftCity.getMeepleCount(this.player2)).isEqualTo(0);
+
+        Tile tile1 = tileManager.drawTileById(1);
+        placeTileAndUpdate(tile1, 0, 1);
+
+        GraphFeature mergedCity = this.featureManager.getFeature(tile20_1.getRightSection());
+        assertThat(mergedCity).isNotNull();
+        assertThat(this.featureManager.getFeature(tile20_2.getLeftSection())).isSameAs(mergedCity);
+        assertThat(mergedCity.getMeepleCount()).isEqualTo(2);
+        assertThat(mergedCity.getMeepleCount(this.player1)).isEqualTo(1);
+        assertThat(mergedCity.getMeepleCount(this.player2)).isEqualTo(1);
+        assertThat(mergedCity.canPlaceMeeple()).isFalse();
+    }
+
     private void placeMeeple(Tile tile, TileSection tileSection, Player player) {
         Optional<Meeple> meeple = player.getMeeple();
         assertThat(meeple).isPresent();
 
         assertThat(this.featureManager.canPlaceMeeple(tile, tileSection)).isTrue();
 
-        tileSection.placeMeeple(meeple.get());
+        this.board.placeMeeple(tileSection, meeple.get());
     }
 
     private void assertFeatureCount(int count) {
@@ -1,6 +1,5 @@
 package net.basilcam.core.features;
 
-import com.google.common.collect.ImmutableMap;
 import net.basilcam.core.*;
 import net.basilcam.core.tiles.Tile;
 import net.basilcam.core.tiles.TileSectionType;
@@ -13,9 +12,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
 import java.util.Collection;
-import java.util.Map;
 import java.util.Optional;
-import java.util.Random;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -200,43 +197,49 @@ class MonasteryFeatureManagerTest {
     }
 
     @Test
-    public void shouldConvertTileCoordinatesToIndices() {
-
-        ImmutableMap<Pair<Integer>, Pair<Integer>> offsetXYToIndicesIJ = new ImmutableMap.Builder<Pair<Integer>, Pair<Integer>>()
-                .put(new Pair<>(-1, 1), new Pair<>(0, 0))
-                .put(new Pair<>(0, 1), new Pair<>(0, 1))
-                .put(new Pair<>(1, 1), new Pair<>(0, 2))
-                .put(new Pair<>(-1, 0), new Pair<>(1, 0))
-                .put(new Pair<>(0, 0), new Pair<>(1, 1))
-                .put(new Pair<>(1, 0), new Pair<>(1, 2))
-                .put(new Pair<>(-1, -1), new Pair<>(2, 0))
-                .put(new Pair<>(0, -1), new Pair<>(2, 1))
-                .put(new Pair<>(1, -1), new Pair<>(2, 2))
-                .build();
-
-        for (Map.Entry<Pair<Integer>, Pair<Integer>> entry : offsetXYToIndicesIJ.entrySet()) {
-            Pair<Integer> tileOffsetFromMonasteryXY = entry.getKey();
-            Pair<Integer> expectedTileIndicesIJ = entry.getValue();
-            int xOffset = new Random().nextInt();
-            int yOffset = new Random().nextInt();
-
-            int monasteryX = xOffset;
-            int monasteryY = yOffset;
-            int tileX = xOffset + tileOffsetFromMonasteryXY.getFirst();
-            int tileY = yOffset + tileOffsetFromMonasteryXY.getSecond();
-
-            Pair<Integer> indices = MonasteryFeatureManager.convertPositionsToIndices(new Pair<>(monasteryX, monasteryY),
-                    new Pair<>(tileX, tileY));
-
-            assertThat(indices.getFirst()).isEqualTo(expectedTileIndicesIJ.getFirst());
-            assertThat(indices.getSecond()).isEqualTo(expectedTileIndicesIJ.getSecond());
-        }
+    public void shouldCountNeighboursOfMonastery() {
+        Tile tile1 = tileManager.drawTileById(1);
+        placeTileAndUpdate(tile1, 0, 1);
+
+        Tile tile18 = tileManager.drawTileById(18);
+        tile18.rotateClockwise();
+        placeTileAndUpdate(tile18, 1, 0);
+
+        MonasteryFeature feature = this.featureManager.getFeature(1, 0);
+        assertThat(feature).isNotNull();
+        assertThat(feature.getTile()).isSameAs(tile18);
+        assertThat(feature.getNeighbourCount()).isEqualTo(2);
+
+        Tile tile10 = tileManager.drawTileById(10);
+        tile10.rotateClockwise();
+        placeTileAndUpdate(tile10, 0, -1);
+        assertThat(feature.getNeighbourCount()).isEqualTo(3);
+
+        assertThat(this.featureManager.getFeature(0, 0)).isNull();
+    }
+
+    @Test
+    public void shouldCountNeighboursOfTilesAlreadyOnBoard() {
+        Tile tile18 = tileManager.drawTileById(18);
+        tile18.rotateClockwise();
+        placeTile(tile18, 1, 0);
+        placeTile(tileManager.drawTileById(1), 0, 1);
+        Tile tile10 = tileManager.drawTileById(10);
+        tile10.rotateClockwise();
+        placeTile(tile10, 0, -1);
+
+        MonasteryFeatureManager featureManager = new MonasteryFeatureManager(this.playerManager, this.board);
+
+        MonasteryFeature feature = featureManager.getFeature(1, 0);
+        assertThat(feature).isNotNull();
+        assertThat(feature.getNeighbourCount()).isEqualTo(3);
+        assertThat(featureManager.getFeatures()).hasSize(1);
     }
 
     private void placeMeeple(TileSection tileSection) {
         Optional<Meeple> meeple = this.player.getMeeple();
         assertThat(meeple).isPresent();
-        tileSection.placeMeeple(meeple.get());
+        this.board.placeMeeple(tileSection, meeple.get());
     }
 
     private void assertFeatureCount(int count) {
@@ -253,8 +256,12 @@ class MonasteryFeatureManagerTest {
     }
 
     private void placeTileAndUpdate(Tile tile, int xPosition, int yPosition) {
+        placeTile(tile, xPosition, yPosition);
+        this.featureManager.updateFeatures(tile, xPosition, yPosition);
+    }
+
+    private void placeTile(Tile tile, int xPosition, int yPosition) {
         assertThat(PlacementValidator.isValid(this.board, xPosition, yPosition, tile)).isTrue();
         this.board.placeTile(tile, xPosition, yPosition);
-        this.featureManager.updateFeatures(tile, xPosition, yPosition);
     }
 }
\ No newline at end of file
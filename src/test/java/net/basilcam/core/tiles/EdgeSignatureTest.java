@@ -0,0 +1,33 @@
+package net.basilcam.core.tiles;
+
+import net.basilcam.core.Direction;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EdgeSignatureTest {
+
+    @Test
+    public void signatureShouldFollowTileRotation() {
+        for (Tile tile : TileStackFactory.createTileMap().values()) {
+            for (int rotation = 0; rotation < 4; rotation++) {
+                int signature = tile.getEdgeSignature();
+                for (Direction direction : Direction.values()) {
+                    assertThat(EdgeSignature.decode(EdgeSignature.getCode(signature, direction)))
+                            .isEqualTo(tile.getSection(direction).getType());
+                }
+                assertThat(tile.getEdgeSignature(rotation)).isEqualTo(signature);
+                tile.rotateClockwise();
+            }
+        }
+    }
+
+    @Test
+    public void fourRotationsShouldReturnOriginalSignature() {
+        int signature = EdgeSignature.of(TileSectionType.CITY, TileSectionType.ROAD, TileSectionType.FIELD, TileSectionType.ROAD);
+
+        assertThat(EdgeSignature.rotateClockwise(signature, 4)).isEqualTo(signature);
+        assertThat(EdgeSignature.rotateClockwise(EdgeSignature.rotateClockwise(signature, 3), 1)).isEqualTo(signature);
+        assertThat(EdgeSignature.getDistinctRotations(signature)).isEqualTo(0b1111);
+    }
+}
@@ -1,9 +1,5 @@
 package net.basilcam.core.tiles;
 
-import com.google.common.collect.Multimap;
-
-import java.util.Optional;
-
 public class TestTileManager {
     private TileManager tileManager;
 
@@ -16,11 +12,7 @@ public class TestTileManager {
     }
 
     public Tile drawTileById(int id) {
-        Tile tile = TestTileManager.createTileById(id);
-        for (TileSection tileSection : tile.getSections().values()) {
-            this.tileManager.addTileSectionMapping(tileSection, tile);
-        }
-        return tile;
+        return TestTileManager.createTileById(id);
     }
 
     public Tile getStartTile() {
@@ -28,9 +20,6 @@ public class TestTileManager {
     }
 
     private static Tile createTileById(int id) {
-        Multimap<Integer, Tile> tileMap = TileStackFactory.createTileMap();
-        Optional<Tile> tile = tileMap.get(id).stream().findFirst();
-        assert tile.isPresent() : "tile does not exist with specified id " + id;
-        return tile.get();
+        return TileCatalog.getInstance().createTile(id);
     }
 }
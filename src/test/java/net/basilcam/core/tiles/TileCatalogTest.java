@@ -0,0 +1,139 @@
+package net.basilcam.core.tiles;
+
+import net.basilcam.core.Direction;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TileCatalogTest {
+
+    @Test
+    public void catalogShouldBeReadOnce() {
+        assertThat(TileCatalog.getInstance()).isSameAs(TileCatalog.getInstance());
+    }
+
+    @Test
+    public void createdTilesShouldMatchQuantities() {
+        TileCatalog catalog = TileCatalog.getInstance();
+        List<Tile> tiles = catalog.createTiles();
+
+        assertThat(tiles).hasSize(catalog.getTileCount()).hasSize(72);
+        for (TileDefinition definition : catalog.getDefinitions()) {
+            assertThat(tiles.stream().filter(tile -> tile.getDefinition() == definition).count())
+                    .isEqualTo(catalog.getQuantity(definition.getId()));
+        }
+    }
+
+    @Test
+    public void decksShouldShareDefinitionsButNotTiles() {
+        TileCatalog catalog = TileCatalog.getInstance();
+        List<Tile> tiles = catalog.createTiles();
+        List<Tile> otherTiles = catalog.createTiles();
+
+        for (int index = 0; index < tiles.size(); index++) {
+            assertThat(otherTiles.get(index)).isNotSameAs(tiles.get(index));
+            assertThat(otherTiles.get(index).getDefinition()).isSameAs(tiles.get(index).getDefinition());
+        }
+        assertThat(catalog.createStartTile().getDefinition()).isSameAs(catalog.getStartTileDefinition());
+        assertThat(catalog.createTile(11).getDefinition()).isSameAs(catalog.getDefinition(11));
+    }
+
+    @Test
+    public void centerEdgeMasksShouldFollowRotation() {
+        for (TileDefinition definition : TileCatalog.getInstance().getDefinitions()) {
+            for (int rotation = 0; rotation < 4; rotation++) {
+                for (int center = 0; center < definition.getCenterTypes().size(); center++) {
+                    int edgeMask = definition.getCenterEdgeMask(center, rotation);
+                    for (Direction direction : Direction.values()) {
+                        assertThat((edgeMask & (1 << direction.ordinal())) != 0)
+                                .isEqualTo(definition.getEdgeType(direction, rotation) == definition.getCenterTypes().get(center));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void fittingPlacementsShouldMatchEdgeSignatures() {
+        TileCatalog catalog = TileCatalog.getInstance();
+        for (int pattern = 0; pattern < EdgeSignature.SIGNATURE_COUNT; pattern++) {
+            List<String> expected = new ArrayList<>();
+            for (TileDefinition definition : catalog.getDefinitions()) {
+                int distinctRotations = EdgeSignature.getDistinctRotations(definition.getEdgeSignature(0));
+                for (int rotation = 0; rotation < 4; rotation++) {
+                    if ((distinctRotations & (1 << rotation)) != 0 && fits(definition.getEdgeSignature(rotation), pattern)) {
+                        expected.add(definition.getId() + "/" + rotation);
+                    }
+                }
+            }
+
+            List<String> placements = new ArrayList<>();
+            catalog.forEachFittingPlacement(pattern, (definition, rotation) ->
+                    placements.add(definition.getId() + "/" + rotation));
+            assertThat(placements).isEqualTo(expected);
+            for (TileDefinition definition : catalog.getDefinitions()) {
+                assertThat(catalog.canFit(pattern, definition.getId()))
+                        .isEqualTo(expected.stream().anyMatch(placement -> placement.startsWith(definition.getId() + "/")));
+            }
+        }
+
+        assertThat(Long.bitCount(catalog.getFittingIds(0))).isEqualTo(catalog.getDefinitions().size());
+    }
+
+    @Test
+    public void generatedCatalogShouldMatchJson() {
+        TileCatalog catalog = TileCatalog.getInstance();
+        TileCatalog jsonCatalog = TileCatalog.readFromJson();
+
+        assertThat(catalog.getDefinitions()).hasSameSizeAs(jsonCatalog.getDefinitions());
+        for (int index = 0; index < catalog.getDefinitions().size(); index++) {
+            TileDefinition definition = catalog.getDefinitions().get(index);
+            TileDefinition jsonDefinition = jsonCatalog.getDefinitions().get(index);
+
+            assertThat(definition.getId()).isEqualTo(jsonDefinition.getId());
+            assertThat(catalog.getQuantity(definition.getId())).isEqualTo(jsonCatalog.getQuantity(definition.getId()));
+            for (Direction direction : Direction.values()) {
+                assertThat(definition.getEdgeType(direction)).isEqualTo(jsonDefinition.getEdgeType(direction));
+            }
+            assertThat(definition.getCenterTypes()).isEqualTo(jsonDefinition.getCenterTypes());
+            assertThat(definition.hasCoatOfArms()).isEqualTo(jsonDefinition.hasCoatOfArms());
+            assertThat(definition.getEdgeSignature(0)).isEqualTo(jsonDefinition.getEdgeSignature(0));
+        }
+    }
+
+    @Test
+    public void customCatalogShouldBeReadFromJson() {
+        String json = "{\"tiles\": [{\"id\": 2, \"quantity\": 3, \"topSection\": \"road\", \"leftSection\": \"road\","
+                + " \"bottomSection\": \"road\", \"rightSection\": \"road\", \"centerSections\": [],"
+                + " \"hasCoatOfArms\": false}]}";
+        TileCatalog catalog = TileCatalog.readFromJson(new StringReader(json));
+
+        List<Tile> tiles = TileStackFactory.createTileStack(catalog, new SplittableRandom(1));
+        assertThat(tiles).hasSize(3).allMatch(tile -> tile.getId() == 2);
+        assertThat(catalog.getDefinition(2).getEdgeType(Direction.LEFT)).isEqualTo(TileSectionType.ROAD);
+    }
+
+    @Test
+    public void unknownIdShouldThrow() {
+        assertThatThrownBy(() -> TileCatalog.getInstance().getDefinition(TileStackFactory.MAX_TILE_ID + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(TileCatalog.getInstance().getQuantity(TileStackFactory.MAX_TILE_ID + 1)).isEqualTo(0);
+    }
+
+    // the slow way, one side at a time
+    private static boolean fits(int edgeSignature, int pattern) {
+        for (Direction direction : Direction.values()) {
+            int requiredCode = EdgeSignature.getCode(pattern, direction);
+            if (requiredCode != 0 && EdgeSignature.getCode(edgeSignature, direction) != requiredCode) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,44 @@
+package net.basilcam.core.tiles;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TileDeckTest {
+
+    @Test
+    public void shouldDrawInOrderAndCountRemainingTiles() {
+        List<Tile> tiles = TileStackFactory.createTileStack(1);
+        TileDeck deck = new TileDeck(tiles);
+        int id = tiles.get(0).getId();
+        int count = (int) tiles.stream().filter(tile -> tile.getId() == id).count();
+        assertThat(deck.getRemainingCount(id)).isEqualTo(count);
+
+        assertThat(deck.draw()).isSameAs(tiles.get(0));
+        assertThat(deck.draw()).isSameAs(tiles.get(1));
+
+        assertThat(deck.size()).isEqualTo(tiles.size() - 2);
+        assertThat(deck.getRemainingTiles()).isEqualTo(tiles.subList(2, tiles.size()));
+        assertThat(deck.getRemainingCount(id)).isEqualTo(count - 1 - (tiles.get(1).getId() == id ? 1 : 0));
+        assertThat(deck.getRemainingCount(TileStackFactory.MAX_TILE_ID + 1)).isEqualTo(0);
+        assertThat(deck.getRemainingIds() & (1L << id)).isNotEqualTo(0);
+    }
+
+    @Test
+    public void concatenatedDecksShouldDrawToTheEnd() {
+        List<Tile> tiles = TileStackFactory.createTileStack(1);
+        tiles.addAll(TileStackFactory.createTileStack(2));
+        TileDeck deck = new TileDeck(tiles);
+
+        for (Tile tile : tiles) {
+            assertThat(deck.draw()).isSameAs(tile);
+        }
+        assertThat(deck.isEmpty()).isTrue();
+        for (int id = 0; id < deck.getIdLimit(); id++) {
+            assertThat(deck.getRemainingCount(id)).isEqualTo(0);
+        }
+        assertThat(deck.getRemainingIds()).isEqualTo(0);
+    }
+}
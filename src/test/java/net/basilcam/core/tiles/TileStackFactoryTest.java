@@ -1,9 +1,12 @@
 package net.basilcam.core.tiles;
 
 import com.google.common.collect.Multimap;
+import net.basilcam.core.Direction;
 import org.junit.jupiter.api.Test;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.SplittableRandom;
 import java.util.Stack;
 import java.util.stream.Collectors;
 
@@ -43,4 +46,50 @@ class TileStackFactoryTest {
                 .allMatch(id -> id > 0 && id <= TileStackFactory.MAX_TILE_ID);
     }
 
-}
\ No newline at end of file
+    @Test
+    public void sameSeedShouldGiveSameDeck() {
+        List<Integer> ids = getIds(TileStackFactory.createTileStack(7));
+
+        assertThat(getIds(TileStackFactory.createTileStack(7))).isEqualTo(ids);
+        assertThat(getIds(TileStackFactory.createTileStack(new SplittableRandom(7)))).isEqualTo(ids);
+        assertThat(getIds(TileStackFactory.createTileStack(8))).isNotEqualTo(ids);
+    }
+
+    @Test
+    public void splitRandomsShouldGiveReproducibleDecks() {
+        SplittableRandom random = new SplittableRandom(7);
+        List<Integer> ids = getIds(TileStackFactory.createTileStack(random.split()));
+        List<Integer> otherIds = getIds(TileStackFactory.createTileStack(random.split()));
+
+        SplittableRandom sameRandom = new SplittableRandom(7);
+        assertThat(getIds(TileStackFactory.createTileStack(sameRandom.split()))).isEqualTo(ids);
+        assertThat(getIds(TileStackFactory.createTileStack(sameRandom.split()))).isEqualTo(otherIds);
+        assertThat(otherIds).isNotEqualTo(ids);
+    }
+
+    @Test
+    public void copiesOfTileShouldShareDefinition() {
+        Multimap<Integer, Tile> tileMap = TileStackFactory.createTileMap();
+
+        for (int id : tileMap.keySet()) {
+            TileDefinition definition = tileMap.get(id).iterator().next().getDefinition();
+            assertThat(tileMap.get(id)).allMatch(tile -> tile.getDefinition() == definition);
+        }
+    }
+
+    @Test
+    public void rotatingTileShouldNotChangeSectionIdentity() {
+        Tile tile = TileStackFactory.createTileMap().get(11).iterator().next();
+        TileSection topSection = tile.getTopSection();
+
+        tile.rotateClockwise();
+
+        assertThat(tile.getRightSection()).isSameAs(topSection);
+        assertThat(tile.getEdgeType(Direction.RIGHT)).isEqualTo(topSection.getType());
+        assertThat(topSection.getTile()).isSameAs(tile);
+    }
+
+    private static List<Integer> getIds(Stack<Tile> tileStack) {
+        return tileStack.stream().map(Tile::getId).collect(Collectors.toList());
+    }
+}
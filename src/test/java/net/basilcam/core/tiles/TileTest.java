@@ -0,0 +1,64 @@
+package net.basilcam.core.tiles;
+
+import net.basilcam.core.Direction;
+import net.basilcam.core.Meeple;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TileTest {
+
+    @Test
+    public void meepleShouldOnlyShowOnItsSection() {
+        Tile tile = new TestTileManager().drawTileById(15);
+        Meeple meeple = new Meeple(0);
+        TileSection left = tile.getSection(Direction.LEFT);
+        left.placeMeeple(meeple);
+
+        assertThat(meeple.isPlaced()).isTrue();
+        assertThat(tile.getMeepleSectionIndex()).isEqualTo(left.getIndex());
+        assertThat(tile.getSection(Direction.LEFT).getMeeple()).containsSame(meeple);
+        for (Direction direction : new Direction[]{Direction.UP, Direction.DOWN, Direction.RIGHT}) {
+            assertThat(tile.getSection(direction).getMeeple()).isEmpty();
+        }
+        for (TileSection section : tile.getCenterSections()) {
+            assertThat(section.getMeeple()).isEmpty();
+        }
+
+        left.removeMeeple();
+        assertThat(meeple.isPlaced()).isFalse();
+        assertThat(left.getMeeple()).isEmpty();
+        assertThat(tile.getMeepleSectionIndex()).isEqualTo(-1);
+    }
+
+    @Test
+    public void listenerShouldOnlyHearItsSection() {
+        Tile tile = new TestTileManager().drawTileById(15);
+        List<Meeple> placed = new ArrayList<>();
+        List<Meeple> removed = new ArrayList<>();
+        tile.getSection(Direction.LEFT).setMeepleListener(new TileSection.MeepleListener() {
+            @Override
+            public void meeplePlaced(Meeple meeple) {
+                placed.add(meeple);
+            }
+
+            @Override
+            public void meepleRemoved(Meeple meeple) {
+                removed.add(meeple);
+            }
+        });
+
+        Meeple meeple = new Meeple(0);
+        tile.getSection(Direction.RIGHT).placeMeeple(meeple);
+        tile.getSection(Direction.RIGHT).removeMeeple();
+        assertThat(placed).isEmpty();
+
+        tile.getSection(Direction.LEFT).placeMeeple(meeple);
+        tile.getSection(Direction.LEFT).removeMeeple();
+        assertThat(placed).containsExactly(meeple);
+        assertThat(removed).containsExactly(meeple);
+    }
+}
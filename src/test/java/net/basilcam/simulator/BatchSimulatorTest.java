@@ -0,0 +1,56 @@
+package net.basilcam.simulator;
+
+import net.basilcam.core.bot.Agent;
+import net.basilcam.core.bot.RandomAgent;
+import net.basilcam.core.tiles.TileSectionType;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BatchSimulatorTest {
+    private static final List<Function<Random, Agent>> RANDOM_AGENTS = Collections.nCopies(3, RandomAgent::new);
+
+    @Test
+    public void shouldPlayGameToTheEnd() {
+        GameResult result = new SimulatedGame(0, 1, RANDOM_AGENTS).play();
+
+        assertThat(result.getPlayerCount()).isEqualTo(3);
+        assertThat(result.getTurnCount()).isGreaterThan(0);
+        for (TileSectionType type : GameResult.FEATURE_TYPES) {
+            assertThat(result.getCompletedFeatureCount(type)).isBetween(0, result.getFeatureCount(type));
+        }
+        assertThat(result.getFeatureCount(TileSectionType.CITY)).isGreaterThan(0);
+    }
+
+    @Test
+    public void batchShouldNotDependOnThreadCount() throws Exception {
+        StringWriter singleThreadOutput = new StringWriter();
+        new BatchSimulator(RANDOM_AGENTS, 1).run(6, 42, singleThreadOutput);
+        StringWriter multiThreadOutput = new StringWriter();
+        new BatchSimulator(RANDOM_AGENTS, 3).run(6, 42, multiThreadOutput);
+
+        List<String> games = getGamesWithoutTimes(singleThreadOutput);
+        assertThat(games).hasSize(6);
+        assertThat(getGamesWithoutTimes(multiThreadOutput)).isEqualTo(games);
+    }
+
+    // sorted by game, since threads finish in any order
+    private static List<String> getGamesWithoutTimes(StringWriter output) {
+        String[] lines = output.toString().split(System.lineSeparator());
+        assertThat(lines[0]).isEqualTo(GameResult.getCsvHeader(3));
+
+        List<String> games = new ArrayList<>();
+        for (int index = 1; index < lines.length; index++) {
+            games.add(lines[index].substring(0, lines[index].lastIndexOf(',')));
+        }
+        games.sort(null);
+        return games;
+    }
+}